@@ -0,0 +1,116 @@
+package com.jkantrell.yamlizer.collection;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of double values, stored in a plain double[] so no value is ever boxed.
+ */
+public final class DoubleList {
+
+    //FIELDS
+    private double[] values_;
+    private int size_ = 0;
+
+    //CONSTRUCTORS
+    public DoubleList() {
+        this(10);
+    }
+
+    /**
+     * Creates an empty list able to hold a given amount of values before growing.
+     *
+     * @param capacity the initial capacity.
+     */
+    public DoubleList(int capacity) {
+        if (capacity < 0) { throw new IllegalArgumentException("Illegal capacity: " + capacity); }
+        this.values_ = new double[capacity];
+    }
+
+    //GETTERS
+    /**
+     * Gets the value at a given index.
+     *
+     * @param index the index.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public double get(int index) {
+        this.checkIndex_(index);
+        return this.values_[index];
+    }
+    public int size() {
+        return this.size_;
+    }
+    public boolean isEmpty() {
+        return this.size_ == 0;
+    }
+
+    //METHODS
+    /**
+     * Appends a value at the end of the list.
+     *
+     * @param value the value.
+     */
+    public void add(double value) {
+        if (this.size_ == this.values_.length) {
+            this.values_ = Arrays.copyOf(this.values_, Math.max(10, this.size_ + (this.size_ >> 1)));
+        }
+        this.values_[this.size_++] = value;
+    }
+
+    /**
+     * Replaces the value at a given index.
+     *
+     * @param index the index.
+     * @param value the new value.
+     * @return the value previously at that index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public double set(int index, double value) {
+        this.checkIndex_(index);
+        double old = this.values_[index];
+        this.values_[index] = value;
+        return old;
+    }
+
+    public void clear() {
+        this.size_ = 0;
+    }
+
+    /**
+     * Copies the values in this list into a new array.
+     *
+     * @return the array.
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(this.values_, this.size_);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) { return true; }
+        if (!(object instanceof DoubleList other)) { return false; }
+        return Arrays.equals(this.values_, 0, this.size_, other.values_, 0, other.size_);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < this.size_; i++) {
+            hash = 31 * hash + Double.hashCode(this.values_[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+
+    //PRIVATE METHODS
+    private void checkIndex_(int index) {
+        if (index < 0 || index >= this.size_) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size_);
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.jkantrell.yamlizer.processor;
+
+import com.jkantrell.yamlizer.yaml.ConfigField;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a ConfigLoader and a ConfigSaver for every concrete AbstractYamlConfig subclass being compiled. The
+ * generated classes read and write fields directly, so loading and saving them at runtime needs no reflection.
+ *
+ * Loaders are only generated for classes whose @ConfigField fields, including inherited ones, can be written from
+ * the config class' package, and savers for classes whose @ConfigField fields can be read from it. Other classes are
+ * left to the reflective implementation.
+ *
+ * The processor only runs for compilations that use @ConfigField. It is not registered by the main Yamlizer jar, so it
+ * must be added to the annotation processor path through the jar with the 'processor' classifier. Config classes it
+ * never sees, such as subclasses without @ConfigField fields of their own, are loaded through reflection.
+ */
+@SupportedAnnotationTypes({"com.jkantrell.yamlizer.yaml.ConfigField", "javax.annotation.processing.Generated"})
+public class ConfigFieldProcessor extends AbstractProcessor {
+
+    //CONSTANTS
+    private static final String CONFIG_CLASS = "com.jkantrell.yamlizer.yaml.AbstractYamlConfig";
+    private static final String YAML = "com.jkantrell.yamlizer.yaml.";
+    private static final Map<String, String> SCALARS = Map.of(
+            "java.lang.String", "STRING",
+            "int", "INT",
+            "java.lang.Integer", "INT",
+            "long", "LONG",
+            "java.lang.Long", "LONG",
+            "double", "DOUBLE",
+            "java.lang.Double", "DOUBLE",
+            "boolean", "BOOL",
+            "java.lang.Boolean", "BOOL"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) { return false; }
+        TypeElement configClass = this.processingEnv.getElementUtils().getTypeElement(ConfigFieldProcessor.CONFIG_CLASS);
+        if (configClass == null) { return false; }
+
+        List<TypeElement> types = new ArrayList<>();
+        for (Element root : roundEnv.getRootElements()) {
+            this.collectTypes_(root, types);
+        }
+        for (TypeElement type : types) {
+            if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) { continue; }
+            if (type.equals(configClass) || !this.isConfig_(type, configClass)) { continue; }
+            if (!this.isAccessible_(type, this.packageOf_(type))) { continue; }
+            try {
+                this.generateLoader_(type, configClass);
+                this.generateSaver_(type, configClass);
+            } catch (IOException ex) {
+                this.processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR, "Unable to generate the Yamlizer accessors: " + ex.getMessage(), type
+                );
+            }
+        }
+        //ConfigField is only meant for this processor, and Generated is on the sources it generates, so both are claimed,
+        //which keeps -Xlint:processing from warning about them.
+        return true;
+    }
+
+    //PRIVATE METHODS
+    private void generateLoader_(TypeElement type, TypeElement configClass) throws IOException {
+        String packageName = this.packageOf_(type);
+        List<VariableElement> fields = this.configFields_(type, configClass);
+
+        for (VariableElement field : fields) {
+            String problem = this.writeProblem_(field, packageName);
+            if (problem != null) {
+                this.processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.NOTE,
+                        "Not generating a loader for " + type.getQualifiedName() + ", as " + problem + ". It will be loaded through reflection.",
+                        field
+                );
+                return;
+            }
+        }
+
+        StringBuilder constants = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            String name = field.getSimpleName().toString();
+            String path = field.getAnnotation(ConfigField.class).path();
+            if (path.isEmpty()) { path = name; }
+            TypeMirror fieldType = field.asType();
+
+            constants.append("    private static final String[] KEYS_").append(i).append(" = {");
+            List<String> keys = ConfigFieldProcessor.split_(path);
+            for (int k = 0; k < keys.size(); k++) {
+                if (k > 0) { constants.append(", "); }
+                constants.append(ConfigFieldProcessor.literal_(keys.get(k)));
+            }
+            constants.append("};\n");
+
+            String read;
+            String scalar = ConfigFieldProcessor.SCALARS.get(fieldType.toString());
+            if (scalar != null) {
+                read = "context.scalar(element, " + YAML + "YamlElementType." + scalar + ", " + this.erasure_(fieldType) + ".class)";
+            } else {
+                constants.append("    private static final java.lang.reflect.Type TYPE_").append(i).append(" = ")
+                        .append(this.typeExpression_(fieldType)).append(";\n");
+                read = "context.deserialize(element, TYPE_" + i + ")";
+            }
+
+            body.append("        element = context.find(").append(ConfigFieldProcessor.literal_(name)).append(", ")
+                    .append(ConfigFieldProcessor.literal_(path)).append(", KEYS_").append(i).append(");\n")
+                    .append("        if (element != null) {\n")
+                    .append("            Object value = ").append(read).append(";\n")
+                    .append("            if (value != null) {\n")
+                    .append("                try {\n")
+                    .append("                    ").append(this.fieldAccess_(field, type)).append(" = (")
+                    .append(this.castTarget_(fieldType)).append(") value;\n")
+                    .append("                    context.loaded(value);\n")
+                    .append("                } catch (RuntimeException ex) {\n")
+                    .append("                    context.failed(ex);\n")
+                    .append("                }\n")
+                    .append("            }\n")
+                    .append("        }\n");
+        }
+
+        String simpleName = this.generatedName_(type, "$YamlLoader");
+        String configType = this.erasure_(type.asType());
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(this.qualify_(packageName, simpleName), type).openWriter()) {
+            writer.write(this.header_(packageName));
+            writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"cast\"})\n");
+            writer.write("public final class " + simpleName + " implements " + YAML + "ConfigLoader<" + configType + "> {\n\n");
+            writer.write(constants.toString());
+            writer.write("\n    @Override\n");
+            writer.write("    public void load(" + configType + " config, " + YAML + "ConfigLoader.Context context) {\n");
+            writer.write("        " + YAML + "YamlElement element;\n");
+            writer.write(body.toString());
+            writer.write("    }\n}\n");
+        }
+    }
+
+    private void generateSaver_(TypeElement type, TypeElement configClass) throws IOException {
+        String packageName = this.packageOf_(type);
+        List<VariableElement> fields = this.configFields_(type, configClass);
+
+        for (VariableElement field : fields) {
+            String problem = this.readProblem_(field, packageName);
+            if (problem != null) {
+                this.processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.NOTE,
+                        "Not generating a saver for " + type.getQualifiedName() + ", as " + problem + ". It will be saved through reflection.",
+                        field
+                );
+                return;
+            }
+        }
+
+        //Fields are indexed superclasses first, each in declaration order. Their names are listed so that order can be
+        //checked against the one ConfigPlan finds at runtime.
+        StringBuilder names = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) { names.append(", "); }
+            names.append(ConfigFieldProcessor.literal_(fields.get(i).getSimpleName().toString()));
+            body.append("            case ").append(i).append(": return ").append(this.fieldAccess_(fields.get(i), type)).append(";\n");
+        }
+
+        String simpleName = this.generatedName_(type, "$YamlSaver");
+        String configType = this.erasure_(type.asType());
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(this.qualify_(packageName, simpleName), type).openWriter()) {
+            writer.write(this.header_(packageName));
+            writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"cast\"})\n");
+            writer.write("public final class " + simpleName + " implements " + YAML + "ConfigSaver<" + configType + "> {\n\n");
+            writer.write("    private static final String[] FIELDS = {" + names + "};\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public String[] fields() {\n");
+            writer.write("        return FIELDS;\n");
+            writer.write("    }\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public Object read(" + configType + " config, int field) {\n");
+            writer.write("        switch (field) {\n");
+            writer.write(body.toString());
+            writer.write("            default: throw new IndexOutOfBoundsException(\"There's no field \" + field + \".\");\n");
+            writer.write("        }\n");
+            writer.write("    }\n}\n");
+        }
+    }
+
+    private List<VariableElement> configFields_(TypeElement type, TypeElement configClass) {
+        List<VariableElement> fields = new ArrayList<>();
+        List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement c = type; c != null && !c.equals(configClass); c = this.superclassOf_(c)) {
+            hierarchy.add(0, c);
+        }
+        for (TypeElement c : hierarchy) {
+            for (Element member : c.getEnclosedElements()) {
+                if (member.getKind() == ElementKind.FIELD && member.getAnnotation(ConfigField.class) != null) {
+                    fields.add((VariableElement) member);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private String header_(String packageName) {
+        return ((packageName.isEmpty()) ? "" : "package " + packageName + ";\n\n") +
+                "@javax.annotation.processing.Generated(\"" + ConfigFieldProcessor.class.getName() + "\")\n";
+    }
+
+    private String writeProblem_(VariableElement field, String packageName) {
+        String problem = this.readProblem_(field, packageName);
+        if (problem != null) { return problem; }
+        TypeElement owner = (TypeElement) field.getEnclosingElement();
+        String name = owner.getSimpleName() + "." + field.getSimpleName();
+        if (field.getModifiers().contains(Modifier.FINAL)) { return name + " is final"; }
+        if (!this.isTypeAccessible_(field.asType(), packageName)) { return "the type of " + name + " is not accessible"; }
+        return null;
+    }
+
+    private String readProblem_(VariableElement field, String packageName) {
+        Set<Modifier> modifiers = field.getModifiers();
+        TypeElement owner = (TypeElement) field.getEnclosingElement();
+        String name = owner.getSimpleName() + "." + field.getSimpleName();
+        if (modifiers.contains(Modifier.PRIVATE)) { return name + " is private"; }
+        if (!this.isAccessible_(owner, packageName)) { return owner.getSimpleName() + " is not accessible"; }
+        if (!modifiers.contains(Modifier.PUBLIC) && !this.packageOf_(owner).equals(packageName)) {
+            return name + " is not accessible from " + packageName;
+        }
+        return null;
+    }
+
+    private String fieldAccess_(VariableElement field, TypeElement type) {
+        String owner = this.erasure_(field.getEnclosingElement().asType());
+        String name = field.getSimpleName().toString();
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+            return owner + "." + name;
+        }
+        //Fields of superclasses are reached through a cast, in case a subclass hides them with one of the same name.
+        if (field.getEnclosingElement().equals(type)) {
+            return "config." + name;
+        }
+        return "((" + owner + ") config)." + name;
+    }
+
+    private String castTarget_(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return this.processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType) type).getQualifiedName().toString();
+        }
+        return this.erasure_(type);
+    }
+
+    private String typeExpression_(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY: {
+                String component = this.typeExpression_(((ArrayType) type).getComponentType());
+                return (component.endsWith(".class")) ? this.erasure_(type) + ".class"
+                        : "com.jkantrell.yamlizer.reflect.Types.arrayOf(" + component + ")";
+            }
+            case DECLARED: {
+                List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+                if (arguments.isEmpty()) { return this.erasure_(type) + ".class"; }
+                StringBuilder builder = new StringBuilder("com.jkantrell.yamlizer.reflect.Types.parameterized(")
+                        .append(this.erasure_(type)).append(".class");
+                for (TypeMirror argument : arguments) {
+                    builder.append(", ").append(this.typeExpression_(argument));
+                }
+                return builder.append(")").toString();
+            }
+            case WILDCARD: {
+                TypeMirror bound = ((WildcardType) type).getExtendsBound();
+                return (bound == null) ? "java.lang.Object.class" : this.typeExpression_(bound);
+            }
+            default:
+                return this.erasure_(type) + ".class";
+        }
+    }
+
+    private boolean isTypeAccessible_(TypeMirror type, String packageName) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return this.isTypeAccessible_(((ArrayType) type).getComponentType(), packageName);
+            case DECLARED: {
+                if (!this.isAccessible_((TypeElement) ((DeclaredType) type).asElement(), packageName)) { return false; }
+                for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                    if (!this.isTypeAccessible_(argument, packageName)) { return false; }
+                }
+                return true;
+            }
+            case WILDCARD: {
+                TypeMirror bound = ((WildcardType) type).getExtendsBound();
+                return bound == null || this.isTypeAccessible_(bound, packageName);
+            }
+            case TYPEVAR:
+                return this.isTypeAccessible_(this.processingEnv.getTypeUtils().erasure(type), packageName);
+            default:
+                return true;
+        }
+    }
+
+    private boolean isAccessible_(TypeElement type, String packageName) {
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement t = (TypeElement) e;
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) { return false; }
+            Set<Modifier> modifiers = t.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) { return false; }
+            if (!modifiers.contains(Modifier.PUBLIC) && !this.packageOf_(t).equals(packageName)) { return false; }
+        }
+        return true;
+    }
+
+    private boolean isConfig_(TypeElement type, TypeElement configClass) {
+        for (TypeElement c = this.superclassOf_(type); c != null; c = this.superclassOf_(c)) {
+            if (c.equals(configClass)) { return true; }
+        }
+        return false;
+    }
+
+    private TypeElement superclassOf_(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return (superclass.getKind() == TypeKind.DECLARED) ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private void collectTypes_(Element element, List<TypeElement> types) {
+        if (!(element instanceof TypeElement type)) { return; }
+        types.add(type);
+        for (Element member : type.getEnclosedElements()) {
+            this.collectTypes_(member, types);
+        }
+    }
+
+    private String generatedName_(TypeElement type, String suffix) {
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        String packageName = this.packageOf_(type);
+        return ((packageName.isEmpty()) ? binaryName : binaryName.substring(packageName.length() + 1)) + suffix;
+    }
+
+    private String packageOf_(Element element) {
+        return this.processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    }
+
+    private String erasure_(TypeMirror type) {
+        return this.processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String qualify_(String packageName, String simpleName) {
+        return (packageName.isEmpty()) ? simpleName : packageName + "." + simpleName;
+    }
+
+    private static List<String> split_(String path) {
+        List<String> keys = new ArrayList<>();
+        for (String key : path.split("\\.")) {
+            if (!key.isEmpty()) { keys.add(key); }
+        }
+        return keys;
+    }
+
+    private static String literal_(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -1,49 +1,99 @@
 package com.jkantrell.yamlizer.reflect;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TypeHandler {
 
+    //CACHES
+    private static final ClassValue<TypeHandler> CLASS_CACHE = new ClassValue<>() {
+        @Override
+        protected TypeHandler computeValue(Class<?> type) {
+            return new TypeHandler(type);
+        }
+    };
+    private static final ClassValue<Map<Type, TypeHandler>> GENERIC_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<Type, TypeHandler> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Gets the canonical TypeHandler for a given type. Handlers for classes live as long as the class itself does.
+     * Handlers for generic types live as long as the class they mention from the deepest class loader does, so a type
+     * like List&lt;SomeUserClass&gt; is dropped along with SomeUserClass' loader rather than kept by List. Neither
+     * prevents class loaders from unloading, and cache hits take no lock.
+     *
+     * Generic types are first looked up with their raw class, which is where they're cached unless they mention a class
+     * from a deeper class loader, so only those, and types not cached yet, have every class they mention walked.
+     *
+     * @param type The type to handle.
+     * @return The TypeHandler.
+     */
+    public static TypeHandler of(Type type) {
+        type = TypeHandler.resolve_(type);
+        if (type instanceof Class<?> clazz) {
+            return TypeHandler.CLASS_CACHE.get(clazz);
+        }
+        Class<?> raw = TypeHandler.raw_(type);
+        TypeHandler handler = TypeHandler.GENERIC_CACHE.get(raw).get(type);
+        if (handler != null) { return handler; }
+
+        Class<?> anchor = TypeHandler.anchor_(type, raw);
+        Map<Type, TypeHandler> cache = TypeHandler.GENERIC_CACHE.get(anchor);
+        handler = (anchor == raw) ? null : cache.get(type);
+        if (handler == null) {
+            //Not computeIfAbsent, as the constructor looks up the handlers of the type's parameters, maybe in this same map.
+            handler = new TypeHandler(type);
+            TypeHandler existing = cache.putIfAbsent(type, handler);
+            if (existing != null) { handler = existing; }
+        }
+        return handler;
+    }
+
+    //FIELDS
     private final Class<?> clazz_;
     private final Type type_;
     private final TypeHandler[] typeHandlers_;
     private final boolean isArray_;
     private final Type arrayComponent_;
+    private final TypeHandler componentHandler_;
 
     public TypeHandler(Type type) {
+        type = TypeHandler.resolve_(type);
         this.type_ = type;
 
         if (type instanceof ParameterizedType paramType) {
             Type[] paramTypes = paramType.getActualTypeArguments();
             this.typeHandlers_ = new TypeHandler[paramTypes.length];
             for (int i = 0; i < paramTypes.length; i++) {
-                this.typeHandlers_[i] = new TypeHandler(paramTypes[i]);
-            }
-
-            String typeName = type.getTypeName();
-            Class<?> typeClass;
-            try {
-                typeClass = Class.forName(typeName.substring(0,typeName.indexOf("<")));
-            } catch (ClassNotFoundException e) {
-                e.printStackTrace();
-                typeClass = null;
+                this.typeHandlers_[i] = TypeHandler.of(paramTypes[i]);
             }
-            this.clazz_ = typeClass;
+            this.clazz_ = (Class<?>) paramType.getRawType();
             this.isArray_ = false;
             this.arrayComponent_ = null;
+            this.componentHandler_ = null;
         } else if (type instanceof GenericArrayType genericArray) {
             this.arrayComponent_ = genericArray.getGenericComponentType();
-            TypeHandler handler = new TypeHandler(this.arrayComponent_);
+            this.componentHandler_ = TypeHandler.of(this.arrayComponent_);
             this.isArray_ = true;
-            this.clazz_ = handler.getClazz();
-            this.typeHandlers_ = handler.getParameterHandlers();
+            this.clazz_ = Array.newInstance(this.componentHandler_.getClazz(), 0).getClass();
+            this.typeHandlers_ = this.componentHandler_.getParameterHandlers();
         } else {
             Class<?> clazz = (Class<?>) type;
             this.clazz_ = clazz;
             this.isArray_ = clazz.isArray();
             this.arrayComponent_ = (this.isArray_) ? clazz.getComponentType() : null;
+            this.componentHandler_ = (this.isArray_) ? TypeHandler.of(this.arrayComponent_) : null;
             this.typeHandlers_ = new TypeHandler[0];
         }
     }
@@ -64,6 +114,9 @@ public class TypeHandler {
     public Type getArrayComponent() {
         return this.arrayComponent_;
     }
+    public TypeHandler getComponentHandler() {
+        return this.componentHandler_;
+    }
 
     //CHECKS
     public boolean isParametrized() {
@@ -72,4 +125,58 @@ public class TypeHandler {
     public boolean isArray() {
         return this.isArray_;
     }
+
+    //PRIVATE METHODS
+    private static Class<?> raw_(Type type) {
+        while (true) {
+            type = TypeHandler.resolve_(type);
+            if (type instanceof ParameterizedType paramType) { return (Class<?>) paramType.getRawType(); }
+            if (!(type instanceof GenericArrayType genericArray)) { return (Class<?>) type; }
+            type = genericArray.getGenericComponentType();
+        }
+    }
+
+    private static Class<?> anchor_(Type type, Class<?> raw) {
+        //The raw class wins ties, so types that only mention classes from its loader or above are cached where they're looked up first.
+        Class<?> anchor = raw;
+        int anchorDepth = TypeHandler.depth_(raw);
+        Deque<Type> pending = new ArrayDeque<>();
+        pending.push(type);
+        while (!pending.isEmpty()) {
+            Type current = TypeHandler.resolve_(pending.pop());
+            if (current instanceof ParameterizedType paramType) {
+                pending.push(paramType.getRawType());
+                for (Type argument : paramType.getActualTypeArguments()) { pending.push(argument); }
+            } else if (current instanceof GenericArrayType genericArray) {
+                pending.push(genericArray.getGenericComponentType());
+            } else if (current instanceof Class<?> clazz) {
+                int depth = TypeHandler.depth_(clazz);
+                if (depth > anchorDepth) {
+                    anchor = clazz;
+                    anchorDepth = depth;
+                }
+            }
+        }
+        return anchor;
+    }
+
+    private static int depth_(Class<?> clazz) {
+        int depth = 0;
+        for (ClassLoader loader = clazz.getClassLoader(); loader != null; loader = loader.getParent()) { depth++; }
+        return depth;
+    }
+
+    private static Type resolve_(Type type) {
+        while (true) {
+            if (type instanceof WildcardType wildcard) {
+                type = wildcard.getUpperBounds()[0];
+            } else if (type instanceof TypeVariable<?> variable) {
+                //Bounds are erased, as they might refer back to the variable itself, like in T extends Comparable<T>.
+                type = variable.getBounds()[0];
+                if (type instanceof ParameterizedType paramType) { type = paramType.getRawType(); }
+            } else {
+                return type;
+            }
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package com.jkantrell.yamlizer.reflect;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Creates generic Type objects without reflecting over a declaration, for code that knows them at compile time,
+ * such as generated config loaders. The types created are equal to the ones the JDK reflects.
+ */
+public final class Types {
+
+    private Types() {}
+
+    /**
+     * Creates a parameterized type, such as List&lt;String&gt;.
+     *
+     * @param raw The raw class.
+     * @param arguments The type arguments.
+     * @return The type.
+     */
+    public static ParameterizedType parameterized(Class<?> raw, Type... arguments) {
+        return new ParameterizedTypeImpl(raw, arguments.clone());
+    }
+
+    /**
+     * Creates a generic array type, such as List&lt;String&gt;[].
+     *
+     * @param component The type of the components.
+     * @return The type.
+     */
+    public static GenericArrayType arrayOf(Type component) {
+        return new GenericArrayTypeImpl(component);
+    }
+
+    //CLASSES
+    private record ParameterizedTypeImpl(Class<?> raw, Type[] arguments) implements ParameterizedType {
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return this.arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return this.raw;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return this.raw.getDeclaringClass();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) { return true; }
+            if (!(object instanceof ParameterizedType other)) { return false; }
+            return this.raw.equals(other.getRawType())
+                    && Objects.equals(this.getOwnerType(), other.getOwnerType())
+                    && Arrays.equals(this.arguments, other.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(this.arguments) ^ Objects.hashCode(this.getOwnerType()) ^ this.raw.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.getTypeName();
+        }
+
+        @Override
+        public String getTypeName() {
+            StringBuilder builder = new StringBuilder(this.raw.getTypeName()).append('<');
+            for (int i = 0; i < this.arguments.length; i++) {
+                if (i > 0) { builder.append(", "); }
+                builder.append(this.arguments[i].getTypeName());
+            }
+            return builder.append('>').toString();
+        }
+    }
+
+    private record GenericArrayTypeImpl(Type component) implements GenericArrayType {
+
+        @Override
+        public Type getGenericComponentType() {
+            return this.component;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof GenericArrayType other && this.component.equals(other.getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.component.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.getTypeName();
+        }
+
+        @Override
+        public String getTypeName() {
+            return this.component.getTypeName() + "[]";
+        }
+    }
+}
@@ -1,21 +1,71 @@
 package com.jkantrell.yamlizer.yaml;
 
+import com.jkantrell.yamlizer.reflect.TypeHandler;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.reader.UnicodeReader;
 import java.io.*;
 import java.lang.reflect.*;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * A configuration backed by a Yaml file. Subclasses declare their settings as fields annotated with @ConfigField,
+ * which load() populates from the file, and save() writes back into it.
+ *
+ * Fields are plain Java fields, so reading them while they're being loaded from another thread, such as the watcher
+ * thread started by watch(), can see some of them updated and others not. Loads triggered by watch() set every field
+ * while holding this config's monitor, so code that reads several fields that must agree with each other should read
+ * them while holding it too:
+ *
+ * <pre>
+ * synchronized (config) {
+ *     connect(config.host, config.port);
+ * }
+ * </pre>
+ *
+ * Reads of a single field need no synchronization, but might see it change between two reads. Readers that don't
+ * synchronize, and so can't rely on the fields agreeing with each other, can read snapshot() instead, which holds every
+ * field's value as of the end of the last load and is replaced as a whole.
+ */
 public abstract class AbstractYamlConfig {
 
+    //CONSTANTS
+    /**
+     * The time a watched config's file must go without changes before the config is reloaded, unless specified.
+     */
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(200);
+
     //FIELDS
     protected Logger logger = LoggerFactory.getLogger("YamlizerConfig");
     protected String filePath;
     protected String subPath = "";
     protected final Yamlizer yamlizer = new Yamlizer();
+    protected YamlStringPool stringPool = null;
+    private final List<ConfigChangeListener> listeners_ = new CopyOnWriteArrayList<>();
+    private final BitSet loaded_ = new BitSet();
+    private final Object loadLock_ = new Object();
+    private YamlMap previous_ = null;
+    private String previousFile_ = null;
+    private String previousSubPath_ = null;
+    private volatile Map<String, Object> snapshot_ = Collections.emptyMap();
 
     //CONSTRUCTORS
 
@@ -51,6 +101,16 @@ public abstract class AbstractYamlConfig {
         this.logger = logger;
     }
 
+    /**
+     * Sets a pool to canonicalize the keys and short string values read by load() with. Sharing a pool across many
+     * configs makes the Strings they load share their instances too.
+     *
+     * @param stringPool the pool, or null to not pool Strings.
+     */
+    public void setStringPool(YamlStringPool stringPool) {
+        this.stringPool = stringPool;
+    }
+
     //GETTERS
     /**
      * Gets the path where the config object is currently storing the configuration.
@@ -72,70 +132,242 @@ public abstract class AbstractYamlConfig {
     public Logger getLogger() {
         return this.logger;
     }
+    public YamlStringPool getStringPool() {
+        return this.stringPool;
+    }
 
     //METHODS
     /**
      * Loads the yaml file at the path declared and populates the data into its corresponding fields annotated with @ConfigPopulate.
+     * Annotated fields declared in superclasses are populated as well.
+     *
+     * The first load of each config class compiles its fields, paths and types into a plan, which every later load of
+     * any instance of that class reuses.
+     *
+     * Each load keeps the Yaml it read, so the next one only re-reads the fields whose paths changed in the file since.
+     * Fields whose path didn't change keep their current value, even if it was changed programmatically in between;
+     * invalidate() makes the next load read every field again.
      *
+     * @return The fields whose values changed, which are also passed to every change listener.
      * @throws FileNotFoundException if the path provided doesn't lead to any file.
      */
-    public void load() throws FileNotFoundException {
-        InputStream in = new FileInputStream(this.filePath);
-        YamlMap map = new YamlMap(in);
-        if (!subPath.equals("")) { map = map.gerFromPath(subPath).get(YamlElementType.MAP); }
+    public ConfigChangeSet load() throws FileNotFoundException {
+        return this.load_(null, false);
+    }
 
-        for (Field field : this.getClass().getDeclaredFields()) {
-            if (!field.isAnnotationPresent(ConfigField.class)) { continue; }
-            ConfigField annotation = field.getAnnotation(ConfigField.class);
-            String path = (annotation.path().equals("")) ? field.getName() : annotation.path();
+    /**
+     * Loads the yaml file at the path declared just like load() does, but without logging nor printing any problem
+     * found. Missing paths, type mismatches and failing deserializers are reported into the returned YamlDiagnostics
+     * instead, and the affected fields keep their current value.
+     *
+     * @return The problems found while loading.
+     * @throws FileNotFoundException if the path provided doesn't lead to any file.
+     */
+    public YamlDiagnostics loadWithDiagnostics() throws FileNotFoundException {
+        YamlDiagnostics diagnostics = new YamlDiagnostics();
+        this.load_(diagnostics, false);
+        return diagnostics;
+    }
 
-            try {
+    /**
+     * Discards the Yaml kept from the last load, so the next load reads every field again, rather than only the ones
+     * whose paths changed in the file.
+     */
+    public void invalidate() {
+        synchronized (this.loadLock_) {
+            this.previous_ = null;
+            this.loaded_.clear();
+        }
+    }
+
+    /**
+     * Starts watching the file at the declared file path, to reload this config whenever the file changes, see watch(Duration).
+     * Changes are debounced by DEFAULT_DEBOUNCE.
+     *
+     * @throws IOException if the file's directory could not be watched.
+     */
+    public void watch() throws IOException {
+        this.watch(AbstractYamlConfig.DEFAULT_DEBOUNCE);
+    }
 
-                Type type = field.getGenericType();
-                Object val = this.yamlizer.deserialize(map.gerFromPath(path),type);
+    /**
+     * Starts watching the file at the declared file path, to reload this config whenever the file changes. A single
+     * thread watches the files of every config, and reloads them once their files have gone without changes for the
+     * debounce delay, so the bursts of writes editors make when saving only cause one reload.
+     *
+     * Unlike load(), reloads caused by changes in the file deserialize every changed field before setting any, and
+     * then set them all while holding this config's monitor. Change listeners are notified afterwards, on the watcher
+     * thread. Files that fail to be parsed, such as half written ones, are logged and don't change any field.
+     *
+     * <b>Fields only switch to a reload's values all at once for readers that synchronize on this config.</b> Code
+     * reading fields without holding its monitor can see a reload half applied. Such code can read snapshot() instead,
+     * which only ever holds the values of whole loads, see the class' documentation.
+     *
+     * The file watched is the one at the declared file path by the time this method is called. Calling it again
+     * replaces the previous watch.
+     *
+     * @param debounce The time the file must go without changes before this config is reloaded.
+     * @throws IOException if the file's directory could not be watched.
+     */
+    public void watch(Duration debounce) throws IOException {
+        ConfigWatcher.get().watch(this, Path.of(this.filePath), debounce.toNanos());
+    }
 
-                field.set(this,val);
-                this.logger.debug("Setting " + field.getName() + " to " + val.toString());
-            } catch (Exception e) {
-                this.logger.warn(
-                    "Unable to load " + field.getName() + " due to " + e.getClass().toString() + ". Using default."
-                );
-                if (e instanceof NullPointerException) {
-                    this.logger.warn("The path '" + ((this.subPath.equals(""))?"":(this.subPath + ".")) + path + "' wasn't found in '" + this.filePath + "'.");
-                } else {
-                    e.printStackTrace();
-                }
-            }
-        }
+    /**
+     * Stops watching the file of this config.
+     *
+     * @return true if it was being watched.
+     */
+    public boolean unwatch() {
+        ConfigWatcher watcher = ConfigWatcher.running();
+        return watcher != null && watcher.unwatch(this);
+    }
 
+    /**
+     * @return true if the file of this config is being watched.
+     */
+    public boolean isWatching() {
+        ConfigWatcher watcher = ConfigWatcher.running();
+        return watcher != null && watcher.isWatching(this);
+    }
 
+    /**
+     * Adds a listener to be notified of the fields changed by every load that changes at least one.
+     *
+     * @param listener The listener.
+     */
+    public void addChangeListener(ConfigChangeListener listener) {
+        this.listeners_.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * @param listener The listener to stop notifying.
+     * @return true if the listener was registered.
+     */
+    public boolean removeChangeListener(ConfigChangeListener listener) {
+        return this.listeners_.remove(listener);
     }
 
     /**
      * Saves the current configuration values of this object into the .yaml file defined in the filePath field.
      * If the file doesn't exist, creates it.
+     *
+     * Every field annotated with @ConfigField, including inherited ones, is written at its path, under the sub-path
+     * if one is set, through the config's Yamlizer. Values are streamed straight into the file as they're read, into
+     * a temporary file which then replaces the previous one, so a failing save never leaves a half written file.
+     *
+     * When a sub-path is set, the rest of the file is kept, so many configs can share a single file. Only the section at
+     * the sub-path is replaced. Files whose current content can't be read are left untouched.
      */
     public void save() {
-        Map<String, Object> config = new LinkedHashMap<>();
-        for (Field field : this.getClass().getDeclaredFields()) {
+        try {
+            this.save_();
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Loads this config just like load() does, but on a virtual thread when the runtime supports them, or on a shared
+     * pool of daemon threads otherwise.
+     *
+     * @return A future completed with the fields that changed, or completed exceptionally with a FileNotFoundException
+     *         if the path provided doesn't lead to any file.
+     */
+    public CompletableFuture<ConfigChangeSet> loadAsync() {
+        return this.loadAsync(ConfigTasks.defaultExecutor());
+    }
+
+    /**
+     * Loads this config just like load() does, on a given executor.
+     *
+     * @param executor The executor to load on.
+     * @return A future completed with the fields that changed, or completed exceptionally with a FileNotFoundException
+     *         if the path provided doesn't lead to any file.
+     */
+    public CompletableFuture<ConfigChangeSet> loadAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                field.setAccessible(true);
-                config.put(field.getName(),field.get(this));
-            } catch (IllegalAccessException ex) {
-                ex.printStackTrace();
+                return this.load();
+            } catch (FileNotFoundException e) {
+                throw new CompletionException(e);
             }
-        }
-        try {
-            File file = new File(this.filePath);
-            if (!file.exists()) {
-                file = this.createFile();
+        }, executor);
+    }
+
+    /**
+     * Saves this config just like save() does, but on a virtual thread when the runtime supports them, or on a shared
+     * pool of daemon threads otherwise.
+     *
+     * @return A future completed once the file has been replaced, or completed exceptionally with the problem that
+     *         prevented it, in which case the previous file is left untouched.
+     */
+    public CompletableFuture<Void> saveAsync() {
+        return this.saveAsync(ConfigTasks.defaultExecutor());
+    }
+
+    /**
+     * Saves this config just like save() does, on a given executor.
+     *
+     * @param executor The executor to save on.
+     * @return A future completed once the file has been replaced, or completed exceptionally with the problem that
+     *         prevented it, in which case the previous file is left untouched.
+     */
+    public CompletableFuture<Void> saveAsync(Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                this.save_();
+            } catch (IOException e) {
+                throw new CompletionException(e);
             }
-            FileWriter writer = new FileWriter(file);
-            new Yaml().dump(config,writer);
-            writer.close();
-        } catch (IOException e) {
-            e.printStackTrace();
+        }, executor);
+    }
+
+    /**
+     * Loads many configs concurrently, see loadAll(Collection, Executor, int). Configs are loaded on virtual threads
+     * when the runtime supports them, or on a shared pool of daemon threads otherwise, as many at a time as there are
+     * available processors.
+     *
+     * @param configs The configs to load.
+     * @return A future completed once every config has been loaded or has failed to.
+     */
+    public static CompletableFuture<ConfigBatchResult> loadAll(Collection<? extends AbstractYamlConfig> configs) {
+        return AbstractYamlConfig.loadAll(configs, ConfigTasks.defaultExecutor(), ConfigTasks.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Loads many configs concurrently, each one just like load() does. At most 'parallelism' configs are loaded at a
+     * time, whatever the executor, so unbounded executors, such as virtual thread ones, don't open every file at once.
+     * A config failing to load doesn't stop the others from loading.
+     *
+     * @param configs The configs to load. Each one should only be in the collection once.
+     * @param executor The executor to load on.
+     * @param parallelism The maximum number of configs to load at a time.
+     * @return A future completed once every config has been loaded or has failed to, with the result of each one.
+     * @throws IllegalArgumentException if parallelism is lower than 1.
+     */
+    public static CompletableFuture<ConfigBatchResult> loadAll(Collection<? extends AbstractYamlConfig> configs, Executor executor, int parallelism) {
+        if (parallelism < 1) { throw new IllegalArgumentException("The parallelism must be at least 1."); }
+        List<AbstractYamlConfig> list = List.copyOf(configs);
+        ConfigChangeSet[] changes = new ConfigChangeSet[list.size()];
+        Throwable[] failures = new Throwable[list.size()];
+        AtomicInteger next = new AtomicInteger();
+
+        //Each worker keeps taking the next config, so no more than 'parallelism' are loaded at a time.
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(parallelism, list.size())];
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = CompletableFuture.runAsync(() -> {
+                for (int i = next.getAndIncrement(); i < changes.length; i = next.getAndIncrement()) {
+                    //Errors are recorded too, as anything thrown here would stop the worker from loading the next configs.
+                    try {
+                        changes[i] = list.get(i).load();
+                    } catch (Throwable t) {
+                        failures[i] = t;
+                    }
+                }
+            }, executor);
         }
+        return CompletableFuture.allOf(workers).thenApply(v -> new ConfigBatchResult(list, changes, failures));
     }
 
     /**
@@ -243,4 +475,377 @@ public abstract class AbstractYamlConfig {
         }
         return map;
     }
+
+    /**
+     * Gets the values of the @ConfigField fields as the last load, or reload, left them, by field name. The map is
+     * immutable, and replaced as a whole once each load has set every field, so it can be read without synchronizing
+     * on this config and still never holds the values of a load half applied. Changes made to the fields outside loads
+     * show up in it once the next load finishes.
+     *
+     * @return The values. Empty until the first load finishes.
+     */
+    public Map<String, Object> snapshot() {
+        return this.snapshot_;
+    }
+
+    /**
+     * Reloads this config after its watched file changed, logging any problem rather than throwing it.
+     */
+    void reload() {
+        try {
+            this.load_(null, true);
+        } catch (FileNotFoundException e) {
+            this.logger.warn("Unable to reload the config, as '" + this.filePath + "' wasn't found. Keeping the current values.");
+        } catch (RuntimeException e) {
+            this.logger.warn("Unable to reload '" + this.filePath + "' due to " + e.getClass().toString() + ". Keeping the current values.");
+            e.printStackTrace();
+        }
+    }
+
+    //PRIVATE METHODS
+    private void save_() throws IOException {
+        ConfigPlan plan = ConfigPlan.of(this.getClass());
+        ConfigSaver<AbstractYamlConfig> saver = GeneratedAccessors.saver((Class<AbstractYamlConfig>) this.getClass());
+        for (int conflict : plan.tree().conflicts()) {
+            ConfigPlan.Entry entry = plan.entries()[conflict];
+            this.logger.warn("Unable to save " + entry.name() + ", as its path '" + entry.path() + "' conflicts with another field's.");
+        }
+
+        File file = new File(this.filePath).getAbsoluteFile();
+        String[] subPath = StringUtils.split(this.subPath, '.');
+        MappingNode existing = (subPath.length > 0) ? this.readExisting_(file) : null;
+        File parent = file.getParentFile();
+        File temporary = null;
+        try {
+            if (parent != null) { parent.mkdirs(); }
+            temporary = File.createTempFile(file.getName(), ".tmp", parent);
+            try (YamlWriter writer = this.yamlizer.newWriter(new FileOutputStream(temporary))) {
+                this.writeSection_(writer, existing, subPath, 0, () -> plan.tree().write(writer, i -> this.read_(plan, saver, i)));
+            }
+            try {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (temporary != null) { temporary.delete(); }
+            throw e;
+        }
+    }
+
+    private ConfigChangeSet load_(YamlDiagnostics diagnostics, boolean staged) throws FileNotFoundException {
+        ConfigChangeSet changes;
+        synchronized (this.loadLock_) {
+            changes = this.populate_(diagnostics, staged);
+            this.publish_();
+        }
+        if (!changes.isEmpty()) { this.notify_(changes); }
+        return changes;
+    }
+
+    private ConfigChangeSet populate_(YamlDiagnostics diagnostics, boolean staged) throws FileNotFoundException {
+        //Read eagerly: the map is kept until the next load, and lazy maps would keep the parsed nodes along with it.
+        YamlMap map;
+        try (InputStream in = new FileInputStream(this.filePath)) {
+            map = new YamlMap(in, this.stringPool);
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String prefix = (this.subPath.equals("")) ? "" : this.subPath + ".";
+        if (!this.subPath.equals("")) {
+            YamlElement element = map.find(StringUtils.split(this.subPath, '.'));
+            map = (element == null) ? null : element.get(YamlElementType.MAP);
+            if (map == null) {
+                this.reportMissing_(diagnostics, "the config", this.subPath);
+                this.invalidate();
+                return new ConfigChangeSet(Collections.emptyList(), null);
+            }
+        }
+
+        List<YamlPath> changed = null;
+        if (this.previous_ != null && this.filePath.equals(this.previousFile_) && this.subPath.equals(this.previousSubPath_)) {
+            changed = YamlDiff.diff(this.previous_, map);
+        } else {
+            this.loaded_.clear();
+        }
+        this.previous_ = map;
+        this.previousFile_ = this.filePath;
+        this.previousSubPath_ = this.subPath;
+
+        ConfigPlan plan = ConfigPlan.of(this.getClass());
+        LoadContext context = new LoadContext(map, prefix, diagnostics, plan.entries(), changed);
+        ConfigLoader<AbstractYamlConfig> loader = GeneratedAccessors.loader((Class<AbstractYamlConfig>) this.getClass());
+        if (loader != null && !staged) {
+            loader.load(this, context);
+        } else {
+            this.loadReflectively_(plan, context, staged);
+        }
+        return new ConfigChangeSet(context.changes_, changed);
+    }
+
+    //Staged loads set no field until every one has been deserialized, so generated loaders can't be used for them.
+    private void loadReflectively_(ConfigPlan plan, LoadContext context, boolean staged) {
+        for (ConfigPlan.Entry entry : plan.entries()) {
+            YamlElement element = context.find(entry.name(), entry.path(), entry.keys());
+            if (element == null) { continue; }
+            Object val = context.deserialize(element, entry.type());
+            if (val == null) { continue; }
+            if (staged) {
+                context.stage_(entry, val);
+                continue;
+            }
+            try {
+                entry.set(this,val);
+                context.loaded(val);
+            } catch (Exception e) {
+                context.failed(e);
+            }
+        }
+        if (staged) { context.apply_(); }
+    }
+
+    private void publish_() {
+        ConfigPlan.Entry[] entries = ConfigPlan.of(this.getClass()).entries();
+        Map<String, Object> snapshot = new LinkedHashMap<>(entries.length * 2);
+        for (ConfigPlan.Entry entry : entries) {
+            try {
+                snapshot.put(entry.name(), entry.get(this));
+            } catch (Exception e) {
+                this.logger.warn("Unable to read " + entry.name() + " into the config's snapshot due to " + e.getClass().toString() + ".");
+            }
+        }
+        this.snapshot_ = Collections.unmodifiableMap(snapshot);
+    }
+
+    private void notify_(ConfigChangeSet changes) {
+        for (ConfigChangeListener listener : this.listeners_) {
+            try {
+                listener.changed(changes);
+            } catch (RuntimeException e) {
+                this.logger.warn("A change listener failed due to " + e.getClass().toString() + ".");
+                e.printStackTrace();
+            }
+        }
+    }
+
+    //The rest of a file holding a sub-path config might belong to other configs, so it's read to be written back. It's
+    //kept as nodes, so it's written back with its order, tags and styles.
+    private MappingNode readExisting_(File file) throws IOException {
+        if (!file.exists()) { return null; }
+        Node node;
+        try (InputStream in = new FileInputStream(file)) {
+            node = new Yaml().compose(new UnicodeReader(in));
+        } catch (RuntimeException e) {
+            throw new IOException("Unable to save into '" + this.filePath + "', as its current content couldn't be read to be kept.", e);
+        }
+        if (YamlNodeReader.isEmpty(node)) { return null; }
+        if (!(node instanceof MappingNode mapping)) {
+            throw new IOException("Unable to save into '" + this.filePath + "', as its current content is not a Yaml dictionary.");
+        }
+        return mapping;
+    }
+
+    //Writes the existing document with the section at the sub-path replaced.
+    private void writeSection_(YamlWriter writer, MappingNode existing, String[] subPath, int depth, Runnable section) {
+        if (depth == subPath.length) {
+            section.run();
+            return;
+        }
+        String key = subPath[depth];
+        boolean written = false;
+        writer.startMap();
+        if (existing != null) {
+            for (NodeTuple tuple : existing.getValue()) {
+                boolean matches = tuple.getKeyNode() instanceof ScalarNode scalar && scalar.getValue().equals(key);
+                if (matches && written) { continue; }
+                writer.node(tuple.getKeyNode());
+                if (!matches) {
+                    writer.node(tuple.getValueNode());
+                    continue;
+                }
+                Node value = tuple.getValueNode();
+                this.writeSection_(writer, (value instanceof MappingNode mapping) ? mapping : null, subPath, depth + 1, section);
+                written = true;
+            }
+        }
+        if (!written) {
+            writer.key(key);
+            this.writeSection_(writer, null, subPath, depth + 1, section);
+        }
+        writer.endMap();
+    }
+
+    private Object read_(ConfigPlan plan, ConfigSaver<AbstractYamlConfig> saver, int field) {
+        ConfigPlan.Entry entry = plan.entries()[field];
+        try {
+            return (saver == null) ? entry.get(this) : saver.read(this, field);
+        } catch (Exception e) {
+            this.logger.warn("Unable to save " + entry.name() + " due to " + e.getClass().toString() + ". Skipping it.");
+            return PathTree.SKIP;
+        }
+    }
+
+    private void reportMissing_(YamlDiagnostics diagnostics, String name, String path) {
+        if (diagnostics != null) {
+            diagnostics.scope(path).report(
+                    YamlDiagnostics.Kind.MISSING_PATH, -1, "The path wasn't found in '" + this.filePath + "'.", null
+            );
+            return;
+        }
+        this.logger.warn("Unable to load " + name + ". Using default.");
+        this.logger.warn("The path '" + path + "' wasn't found in '" + this.filePath + "'.");
+    }
+
+    //CLASSES
+    private class LoadContext implements ConfigLoader.Context {
+
+        private final YamlMap map_;
+        private final String prefix_;
+        private final YamlDiagnostics diagnostics_;
+        private final ConfigPlan.Entry[] entries_;
+        private final List<YamlPath> changed_;
+        private final List<ConfigChangeSet.Change> changes_ = new ArrayList<>();
+        private final List<Staged> staged_ = new ArrayList<>();
+        private int next_ = 0;
+        private int index_ = -1;
+        private String field_ = null;
+        private String path_ = null;
+        private Object previous_ = null;
+        private YamlDiagnostics.Scope scope_ = null;
+
+        private LoadContext(YamlMap map, String prefix, YamlDiagnostics diagnostics, ConfigPlan.Entry[] entries, List<YamlPath> changed) {
+            this.map_ = map;
+            this.prefix_ = prefix;
+            this.diagnostics_ = diagnostics;
+            this.entries_ = entries;
+            this.changed_ = changed;
+        }
+
+        @Override
+        public YamlElement find(String field, String path, String[] keys) {
+            this.field_ = field;
+            this.index_ = this.indexOf_(field);
+            BitSet loaded = AbstractYamlConfig.this.loaded_;
+            if (this.index_ >= 0 && this.changed_ != null && loaded.get(this.index_) && !YamlDiff.intersects(this.changed_, keys)) {
+                return null;
+            }
+
+            path = this.prefix_ + path;
+            this.path_ = path;
+            this.previous_ = this.current_();
+            if (this.index_ >= 0) { loaded.clear(this.index_); }
+            this.scope_ = (this.diagnostics_ == null) ? null : this.diagnostics_.scope(path);
+            YamlElement element = this.map_.find(keys);
+            if (element == null) {
+                AbstractYamlConfig.this.reportMissing_(this.diagnostics_, field, path);
+            }
+            return element;
+        }
+
+        @Override
+        public Object deserialize(YamlElement element, Type type) {
+            return this.deserialize(element, TypeHandler.of(type));
+        }
+
+        @Override
+        public Object scalar(YamlElement element, YamlElementType<?> type, Class<?> target) {
+            if (AbstractYamlConfig.this.yamlizer.isBuiltInScalar(target)) {
+                Object value = element.get(type);
+                if (value != null) { return value; }
+            }
+            return this.deserialize(element, TypeHandler.of(target));
+        }
+
+        @Override
+        public void loaded(Object value) {
+            if (this.scope_ == null) { AbstractYamlConfig.this.logger.debug("Setting " + this.field_ + " to " + value); }
+            if (this.index_ >= 0) { AbstractYamlConfig.this.loaded_.set(this.index_); }
+            if (!Objects.deepEquals(this.previous_, value)) {
+                this.changes_.add(new ConfigChangeSet.Change(this.field_, this.path_, this.previous_, value));
+            }
+        }
+
+        @Override
+        public void failed(Exception exception) {
+            this.fail_(YamlDiagnostics.Kind.WRITE_FAILURE, exception);
+        }
+
+        private Object deserialize(YamlElement element, TypeHandler type) {
+            Object val;
+            try {
+                val = AbstractYamlConfig.this.yamlizer.deserialize(element, type, this.scope_, -1);
+            } catch (Exception e) {
+                this.fail_(YamlDiagnostics.Kind.DESERIALIZATION_FAILURE, e);
+                return null;
+            }
+            if (val == null && this.scope_ == null) {
+                AbstractYamlConfig.this.logger.warn("Unable to load " + this.field_ + ". Using default.");
+            }
+            return val;
+        }
+
+        private void stage_(ConfigPlan.Entry entry, Object value) {
+            this.staged_.add(new Staged(entry, this.index_, this.field_, this.path_, this.previous_, this.scope_, value));
+        }
+
+        private void apply_() {
+            synchronized (AbstractYamlConfig.this) {
+                for (Staged staged : this.staged_) {
+                    this.index_ = staged.index();
+                    this.field_ = staged.field();
+                    this.path_ = staged.path();
+                    this.previous_ = staged.previous();
+                    this.scope_ = staged.scope();
+                    try {
+                        staged.entry().set(AbstractYamlConfig.this, staged.value());
+                        this.loaded(staged.value());
+                    } catch (Exception e) {
+                        this.failed(e);
+                    }
+                }
+            }
+        }
+
+        //Fields are loaded in plan order, so the next entry is checked first.
+        private int indexOf_(String field) {
+            if (this.next_ < this.entries_.length && this.entries_[this.next_].name().equals(field)) {
+                return this.next_++;
+            }
+            for (int i = 0; i < this.entries_.length; i++) {
+                if (!this.entries_[i].name().equals(field)) { continue; }
+                this.next_ = i + 1;
+                return i;
+            }
+            return -1;
+        }
+
+        private Object current_() {
+            if (this.index_ < 0) { return null; }
+            try {
+                return this.entries_[this.index_].get(AbstractYamlConfig.this);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        private void fail_(YamlDiagnostics.Kind kind, Exception exception) {
+            if (this.scope_ != null) {
+                this.scope_.report(kind, -1, String.valueOf(exception.getMessage()), exception);
+                return;
+            }
+            AbstractYamlConfig.this.logger.warn(
+                "Unable to load " + this.field_ + " due to " + exception.getClass().toString() + ". Using default."
+            );
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * A value deserialized by a staged load, along with the state of the LoadContext when it was.
+     */
+    private record Staged(
+            ConfigPlan.Entry entry, int index, String field, String path, Object previous, YamlDiagnostics.Scope scope, Object value
+    ) {}
 }
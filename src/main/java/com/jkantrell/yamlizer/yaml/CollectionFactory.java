@@ -0,0 +1,179 @@
+package com.jkantrell.yamlizer.yaml;
+
+import com.jkantrell.yamlizer.reflect.TypeHandler;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the concrete Collections and Maps Yamlizer deserializes into, presized to the amount of elements they are
+ * about to hold.
+ *
+ * Interfaces and abstract classes are mapped to a default implementation, EnumSets and EnumMaps are created for the
+ * enum type the TypeHandler declares, and every other class is created through its constructor. The way to create
+ * each class is resolved once and cached.
+ */
+final class CollectionFactory {
+
+    //CACHE
+    private static final MethodType SIZED_TYPE = MethodType.methodType(Object.class, int.class);
+    private static final MethodType EMPTY_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType COPY_TYPE = MethodType.methodType(Object.class, Collection.class);
+    private static final Class<?>[] DEFAULTS = {
+            ArrayList.class, LinkedHashSet.class, TreeSet.class, ArrayDeque.class,
+            LinkedHashMap.class, TreeMap.class, ConcurrentHashMap.class
+    };
+    private static final Set<Class<?>> CAPACITY_SIZED = Set.of(
+            ArrayList.class, ArrayDeque.class, Vector.class, PriorityQueue.class,
+            ConcurrentHashMap.class, IdentityHashMap.class
+    );
+    private static final Set<Class<?>> HASH_SIZED = Set.of(
+            HashSet.class, LinkedHashSet.class, HashMap.class, LinkedHashMap.class, Hashtable.class, WeakHashMap.class
+    );
+    private static final ClassValue<Creator> CREATORS = new ClassValue<>() {
+        @Override
+        protected Creator computeValue(Class<?> type) {
+            return CollectionFactory.creatorFor_(type);
+        }
+    };
+
+    private CollectionFactory() {}
+
+    //METHODS
+    /**
+     * Creates an empty Collection of the class a TypeHandler represents.
+     *
+     * @param type The TypeHandler of the collection.
+     * @param size The amount of elements the collection is about to hold.
+     * @return The collection.
+     * @throws IllegalArgumentException if the class cannot be instantiated.
+     */
+    static Collection<Object> newCollection(TypeHandler type, int size) {
+        Class<?> clazz = type.getClazz();
+        if (EnumSet.class.isAssignableFrom(clazz)) {
+            return (Collection) EnumSet.noneOf((Class) CollectionFactory.parameter(type, 0).getClazz());
+        }
+        return (Collection<Object>) CollectionFactory.CREATORS.get(clazz).create(size);
+    }
+
+    /**
+     * Creates an empty Map of the class a TypeHandler represents.
+     *
+     * @param type The TypeHandler of the map.
+     * @param size The amount of entries the map is about to hold.
+     * @return The map.
+     * @throws IllegalArgumentException if the class cannot be instantiated.
+     */
+    static Map<Object, Object> newMap(TypeHandler type, int size) {
+        Class<?> clazz = type.getClazz();
+        if (EnumMap.class.isAssignableFrom(clazz)) {
+            return new EnumMap(CollectionFactory.parameter(type, 0).getClazz());
+        }
+        return (Map<Object, Object>) CollectionFactory.CREATORS.get(clazz).create(size);
+    }
+
+    /**
+     * Gets the TypeHandler of a parameter from a collection's TypeHandler.
+     *
+     * @param type The TypeHandler of the collection.
+     * @param index The index of the parameter.
+     * @return The TypeHandler of the parameter.
+     * @throws IllegalArgumentException if the collection is a raw type.
+     */
+    static TypeHandler parameter(TypeHandler type, int index) {
+        TypeHandler[] parameters = type.getParameterHandlers();
+        if (parameters.length <= index) {
+            throw new IllegalArgumentException(
+                    "Unable to infer the element types of raw " + type.getClazz().getSimpleName() + ". Please declare them."
+            );
+        }
+        return parameters[index];
+    }
+
+    //PRIVATE METHODS
+    private static Creator creatorFor_(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            for (Class<?> implementation : CollectionFactory.DEFAULTS) {
+                if (type.isAssignableFrom(implementation)) {
+                    return CollectionFactory.CREATORS.get(implementation);
+                }
+            }
+            return size -> {
+                throw new IllegalArgumentException("No default implementation known for " + type.getSimpleName() + ".");
+            };
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            if (CollectionFactory.CAPACITY_SIZED.contains(type) || CollectionFactory.HASH_SIZED.contains(type)) {
+                MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, int.class))
+                        .asType(CollectionFactory.SIZED_TYPE);
+                boolean hashed = CollectionFactory.HASH_SIZED.contains(type);
+                return size -> constructor.invokeExact(hashed ? (int) (size / 0.75f) + 1 : size);
+            }
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(CollectionFactory.EMPTY_TYPE);
+            return size -> constructor.invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException ignored) {}
+
+        //Falls back to classes which can only be built out of another collection.
+        try {
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, Collection.class))
+                    .asType(CollectionFactory.COPY_TYPE);
+            return size -> new CopyingList(constructor, size);
+        } catch (NoSuchMethodException | IllegalAccessException ignored) {}
+
+        return size -> {
+            throw new IllegalArgumentException("Unable to instantiate " + type.getSimpleName() + ", no suitable constructor found.");
+        };
+    }
+
+    //CLASSES
+    @FunctionalInterface
+    private interface Creator {
+
+        Object invoke(int size) throws Throwable;
+
+        default Object create(int size) {
+            try {
+                return this.invoke(size);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable t) {
+                throw new IllegalArgumentException(t);
+            }
+        }
+    }
+
+    /**
+     * A list that gets copied into the actual target collection once filled, for classes that can only be
+     * constructed out of another collection.
+     */
+    static final class CopyingList extends ArrayList<Object> {
+
+        private final MethodHandle constructor_;
+
+        private CopyingList(MethodHandle constructor, int size) {
+            super(size);
+            this.constructor_ = constructor;
+        }
+
+        /**
+         * Creates the target collection out of the elements added to this list.
+         *
+         * @return The target collection.
+         */
+        Object build() {
+            try {
+                return this.constructor_.invokeExact((Collection) this);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable t) {
+                throw new IllegalArgumentException(t);
+            }
+        }
+    }
+}
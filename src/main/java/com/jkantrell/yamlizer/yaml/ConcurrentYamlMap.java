@@ -0,0 +1,76 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A YamlMap that can be read and modified by any number of threads at the same time, without external locking.
+ * Every level is backed by a ConcurrentHashMap, so reads never block and iteration is weakly consistent: it never
+ * throws ConcurrentModificationException, and reflects the entries present at some point since it started.
+ *
+ * putInPath creates the missing maps along the path atomically, so concurrent calls sharing a prefix all end up
+ * writing into the same nested map. The maps it creates are ConcurrentYamlMaps as well. Lists are copied into
+ * CopyOnWriteArrayLists.
+ *
+ * Unlike YamlMap, null keys and values are not allowed.
+ */
+public class ConcurrentYamlMap extends YamlMap {
+
+    //CONSTRUCTORS
+    /**
+     * Creates an empty ConcurrentYamlMap.
+     */
+    public ConcurrentYamlMap() {
+        super(new ConcurrentHashMap<String, YamlElement>());
+    }
+
+    /**
+     * Creates a ConcurrentYamlMap from an InputStream providing Yaml data.
+     *
+     * @param inputStream the InputStream to load.
+     * @throws IllegalArgumentException if the document is not a Yaml dictionary.
+     */
+    public ConcurrentYamlMap(InputStream inputStream) {
+        this(new YamlMap(inputStream));
+    }
+
+    /**
+     * Creates a ConcurrentYamlMap holding a deep copy of a YamlMap. Nested maps are copied into ConcurrentYamlMaps,
+     * and nested lists into CopyOnWriteArrayLists.
+     *
+     * @param map the YamlMap to copy.
+     */
+    public ConcurrentYamlMap(YamlMap map) {
+        super(new ConcurrentHashMap<String, YamlElement>((int) (map.size() / 0.75f) + 1));
+        for (Map.Entry<String, YamlElement> entry : map.entrySet()) {
+            this.map_.put(entry.getKey(), ConcurrentYamlMap.copy_(entry.getValue()));
+        }
+    }
+
+    //METHODS
+    @Override
+    protected YamlMap newChild() {
+        return new ConcurrentYamlMap();
+    }
+
+    //PRIVATE METHODS
+    private static YamlElement copy_(YamlElement element) {
+        switch (element.getKind()) {
+            case MAP:
+                return new YamlElement(new ConcurrentYamlMap(element.get(YamlElementType.MAP)));
+            case LIST: {
+                if (!(element.get() instanceof List<?> list)) { return element; }
+                YamlElement[] elements = new YamlElement[list.size()];
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = ConcurrentYamlMap.copy_((YamlElement) list.get(i));
+                }
+                return new YamlElement(new CopyOnWriteArrayList<>(elements));
+            }
+            default:
+                return element;
+        }
+    }
+}
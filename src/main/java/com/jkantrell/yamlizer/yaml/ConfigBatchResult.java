@@ -0,0 +1,81 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.*;
+
+/**
+ * The result of loading many configs at once, see AbstractYamlConfig.loadAll. It holds, for each config, either the
+ * fields its load changed, or the throwable that prevented it from loading.
+ */
+public final class ConfigBatchResult {
+
+    //FIELDS
+    private final Map<AbstractYamlConfig, ConfigChangeSet> changes_ = new LinkedHashMap<>();
+    private final Map<AbstractYamlConfig, Throwable> failures_ = new LinkedHashMap<>();
+
+    //CONSTRUCTORS
+    /**
+     * @param configs The configs loaded.
+     * @param changes The changes of each config, by index. Null for the ones that failed.
+     * @param failures The failure of each config, by index. Null for the ones that loaded.
+     */
+    ConfigBatchResult(List<AbstractYamlConfig> configs, ConfigChangeSet[] changes, Throwable[] failures) {
+        for (int i = 0; i < configs.size(); i++) {
+            if (failures[i] != null) {
+                this.failures_.put(configs.get(i), failures[i]);
+            } else {
+                this.changes_.put(configs.get(i), changes[i]);
+            }
+        }
+    }
+
+    //GETTERS
+    /**
+     * @return The number of configs in the batch.
+     */
+    public int size() {
+        return this.changes_.size() + this.failures_.size();
+    }
+
+    /**
+     * @return true if every config loaded.
+     */
+    public boolean isSuccessful() {
+        return this.failures_.isEmpty();
+    }
+
+    /**
+     * @return The fields changed in each config that loaded, in the order the configs were given.
+     */
+    public Map<AbstractYamlConfig, ConfigChangeSet> getChanges() {
+        return Collections.unmodifiableMap(this.changes_);
+    }
+
+    /**
+     * @return The throwable that prevented each config that failed from loading, in the order the configs were given.
+     */
+    public Map<AbstractYamlConfig, Throwable> getFailures() {
+        return Collections.unmodifiableMap(this.failures_);
+    }
+
+    //METHODS
+    /**
+     * @param config A config in the batch.
+     * @return The fields its load changed. Null if it failed to load, or is not in the batch.
+     */
+    public ConfigChangeSet getChanges(AbstractYamlConfig config) {
+        return this.changes_.get(config);
+    }
+
+    /**
+     * @param config A config in the batch.
+     * @return The throwable that prevented it from loading. Null if it loaded, or is not in the batch.
+     */
+    public Throwable getFailure(AbstractYamlConfig config) {
+        return this.failures_.get(config);
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigBatchResult[loaded=" + this.changes_.size() + ", failed=" + this.failures_.size() + "]";
+    }
+}
@@ -0,0 +1,15 @@
+package com.jkantrell.yamlizer.yaml;
+
+/**
+ * Listens to the changes in the fields of an AbstractYamlConfig, see AbstractYamlConfig.addChangeListener.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Called after a load that changed at least one field, once every field has been loaded.
+     *
+     * @param changes The fields that changed.
+     */
+    void changed(ConfigChangeSet changes);
+}
@@ -0,0 +1,104 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The fields of an AbstractYamlConfig whose values changed in a load, along with their previous and current values.
+ *
+ * Loads after the first one only re-read the fields whose paths were affected by changes in the file since the
+ * previous load. The paths found to be changed are available through getChangedPaths(), unless the load read every
+ * field, which is the case for the first load, and for the ones following a change of file path or sub-path, or a
+ * call to invalidate().
+ */
+public final class ConfigChangeSet {
+
+    //FIELDS
+    private final List<Change> changes_;
+    private final List<YamlPath> paths_;
+
+    //CONSTRUCTORS
+    /**
+     * @param changes The changes.
+     * @param paths The paths changed in the file, or null if every field was read.
+     */
+    ConfigChangeSet(List<Change> changes, List<YamlPath> paths) {
+        this.changes_ = Collections.unmodifiableList(changes);
+        this.paths_ = (paths == null) ? null : Collections.unmodifiableList(paths);
+    }
+
+    //GETTERS
+    /**
+     * @return true if no field changed.
+     */
+    public boolean isEmpty() {
+        return this.changes_.isEmpty();
+    }
+
+    /**
+     * @return The number of fields that changed.
+     */
+    public int size() {
+        return this.changes_.size();
+    }
+
+    /**
+     * @return The changes, in the order their fields were loaded.
+     */
+    public List<Change> getChanges() {
+        return this.changes_;
+    }
+
+    /**
+     * Gets the paths found to be changed in the file, relative to the config's sub-path, as the deepest paths whose
+     * values were added, removed or modified.
+     *
+     * @return The paths. Empty if every field was read, see isFullReload().
+     */
+    public List<YamlPath> getChangedPaths() {
+        return (this.paths_ == null) ? Collections.emptyList() : this.paths_;
+    }
+
+    /**
+     * @return true if the load read every field, rather than only the ones affected by changes in the file.
+     */
+    public boolean isFullReload() {
+        return this.paths_ == null;
+    }
+
+    //METHODS
+    /**
+     * @param field The name of a field.
+     * @return true if the field changed.
+     */
+    public boolean contains(String field) {
+        return this.get(field) != null;
+    }
+
+    /**
+     * @param field The name of a field.
+     * @return The change of the field. Null if it didn't change.
+     */
+    public Change get(String field) {
+        for (Change change : this.changes_) {
+            if (change.field().equals(field)) { return change; }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigChangeSet" + this.changes_;
+    }
+
+    //CLASSES
+    /**
+     * The change of a single field.
+     *
+     * @param field The name of the field.
+     * @param path The path it was loaded from, including the config's sub-path.
+     * @param previous The value it held before the load.
+     * @param current The value it holds now.
+     */
+    public record Change(String field, String path, Object previous, Object current) {}
+}
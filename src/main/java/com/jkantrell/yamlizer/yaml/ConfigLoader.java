@@ -0,0 +1,72 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.lang.reflect.Type;
+
+/**
+ * Loads the @ConfigField fields of a given AbstractYamlConfig subclass without reflection. Implementations are
+ * generated at compile time by the Yamlizer annotation processor, as a class named after the binary name of the
+ * config class followed by '$YamlLoader'. When there's none, AbstractYamlConfig falls back to reflection.
+ *
+ * @param <T> The config class.
+ */
+public interface ConfigLoader<T extends AbstractYamlConfig> {
+
+    /**
+     * Populates the fields of a config object.
+     *
+     * @param config The config object.
+     * @param context The context to read values from and to report problems into.
+     */
+    void load(T config, Context context);
+
+    /**
+     * Gives access to the Yaml data being loaded, and takes care of reporting the problems found, either by logging
+     * them or by collecting them into a YamlDiagnostics.
+     */
+    interface Context {
+
+        /**
+         * Looks up the element of a field, and makes it the field the next calls refer to.
+         *
+         * @param field The name of the field.
+         * @param path The path of the field, as declared in its @ConfigField annotation.
+         * @param keys The path split into keys.
+         * @return The element. Null if the path wasn't found, in which case it has already been reported.
+         */
+        YamlElement find(String field, String path, String[] keys);
+
+        /**
+         * Deserializes the element of the current field.
+         *
+         * @param element The element.
+         * @param type The type of the field.
+         * @return The value. Null if it could not be deserialized, in which case it has already been reported.
+         */
+        Object deserialize(YamlElement element, Type type);
+
+        /**
+         * Reads the element of the current field as a Yaml scalar, unless the config's Yamlizer has a custom
+         * deserializer for the field's class, in which case it's used instead.
+         *
+         * @param element The element.
+         * @param type The Yaml type to read the element as.
+         * @param target The class of the field.
+         * @return The value. Null if the element is not of the given type, in which case it has already been reported.
+         */
+        Object scalar(YamlElement element, YamlElementType<?> type, Class<?> target);
+
+        /**
+         * Notifies that the value of the current field has been written.
+         *
+         * @param value The value.
+         */
+        void loaded(Object value);
+
+        /**
+         * Reports that the value of the current field could not be written.
+         *
+         * @param exception The cause.
+         */
+        void failed(Exception exception);
+    }
+}
@@ -0,0 +1,186 @@
+package com.jkantrell.yamlizer.yaml;
+
+import com.jkantrell.yamlizer.reflect.TypeHandler;
+import org.apache.commons.lang3.StringUtils;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The compiled load plan of an AbstractYamlConfig subclass. It holds every field annotated with @ConfigField,
+ * including the ones declared in superclasses, along with its resolved path, its TypeHandler, and a setter and a
+ * getter for it. It also holds the fields' paths nested into a PathTree, to save them with.
+ *
+ * Plans are computed once per class, the first time one of its instances is loaded or saved.
+ */
+final class ConfigPlan {
+
+    //CACHE
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<ConfigPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected ConfigPlan computeValue(Class<?> type) {
+            return new ConfigPlan(type);
+        }
+    };
+
+    /**
+     * Gets the load plan of a given config class.
+     *
+     * @param type The config class.
+     * @return The plan.
+     */
+    static ConfigPlan of(Class<? extends AbstractYamlConfig> type) {
+        return ConfigPlan.PLANS.get(type);
+    }
+
+    //FIELDS
+    private final Entry[] entries_;
+    private final PathTree tree_;
+
+    //CONSTRUCTOR
+    private ConfigPlan(Class<?> type) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != AbstractYamlConfig.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                ConfigField annotation = field.getAnnotation(ConfigField.class);
+                if (annotation == null) { continue; }
+                entries.add(new Entry(field, annotation));
+            }
+        }
+        this.entries_ = entries.toArray(new Entry[0]);
+
+        String[][] paths = new String[this.entries_.length][];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = this.entries_[i].keys();
+        }
+        this.tree_ = new PathTree(paths);
+    }
+
+    //GETTERS
+    Entry[] entries() {
+        return this.entries_;
+    }
+
+    /**
+     * @return The paths of the entries, nested. Each path's index is the index of its entry.
+     */
+    PathTree tree() {
+        return this.tree_;
+    }
+
+    //CLASSES
+    static final class Entry {
+
+        //FIELDS
+        private final Field field_;
+        private final String path_;
+        private final String[] keys_;
+        private final TypeHandler type_;
+        private final MethodHandle setter_;
+        private final Exception setterFailure_;
+        private final MethodHandle getter_;
+        private final Exception getterFailure_;
+
+        //CONSTRUCTOR
+        private Entry(Field field, ConfigField annotation) {
+            this.field_ = field;
+            this.path_ = (annotation.path().equals("")) ? field.getName() : annotation.path();
+            this.keys_ = StringUtils.split(this.path_, '.');
+            this.type_ = TypeHandler.of(field.getGenericType());
+
+            MethodHandle setter = null;
+            Exception failure = null;
+            try {
+                field.setAccessible(true);
+                setter = MethodHandles.lookup().unreflectSetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    setter = MethodHandles.dropArguments(setter, 0, Object.class);
+                }
+                setter = setter.asType(ConfigPlan.SETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                failure = ex;
+            }
+            this.setter_ = setter;
+            this.setterFailure_ = failure;
+
+            MethodHandle getter = null;
+            failure = null;
+            try {
+                getter = MethodHandles.lookup().unreflectGetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                }
+                getter = getter.asType(ConfigPlan.GETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                failure = ex;
+            }
+            this.getter_ = getter;
+            this.getterFailure_ = failure;
+        }
+
+        //GETTERS
+        Field field() {
+            return this.field_;
+        }
+        String name() {
+            return this.field_.getName();
+        }
+        String path() {
+            return this.path_;
+        }
+        String[] keys() {
+            return this.keys_;
+        }
+        TypeHandler type() {
+            return this.type_;
+        }
+
+        //METHODS
+        /**
+         * Writes a value into the field this entry represents.
+         *
+         * @param config The config object holding the field.
+         * @param value The value to write.
+         * @throws Exception if the field is not writable, or the value cannot be assigned to it.
+         */
+        void set(Object config, Object value) throws Exception {
+            if (this.setter_ == null) { throw this.setterFailure_; }
+            try {
+                this.setter_.invokeExact(config, value);
+            } catch (Exception | Error ex) {
+                throw ex;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * Reads the value of the field this entry represents.
+         *
+         * @param config The config object holding the field.
+         * @return The value.
+         * @throws Exception if the field is not readable.
+         */
+        Object get(Object config) throws Exception {
+            if (this.getter_ == null) { throw this.getterFailure_; }
+            try {
+                return this.getter_.invokeExact(config);
+            } catch (Exception | Error ex) {
+                throw ex;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jkantrell.yamlizer.yaml;
+
+/**
+ * Reads the @ConfigField fields of a given AbstractYamlConfig subclass without reflection, so they can be saved.
+ * Implementations are generated at compile time by the Yamlizer annotation processor, as a class named after the
+ * binary name of the config class followed by '$YamlSaver'. When there's none, AbstractYamlConfig falls back to
+ * reflection.
+ *
+ * @param <T> The config class.
+ */
+public interface ConfigSaver<T extends AbstractYamlConfig> {
+
+    /**
+     * Reads the value of a field of a config object.
+     *
+     * @param config The config object.
+     * @param field The index of the field among the @ConfigField fields of the class, including inherited ones,
+     *              superclass fields first, each class' fields in declaration order.
+     * @return The value of the field.
+     * @throws IndexOutOfBoundsException if there's no field with the given index.
+     */
+    Object read(T config, int field);
+
+    /**
+     * Gets the names of the fields, in the order they're indexed by read(). AbstractYamlConfig checks them against
+     * the order it lists the fields in at runtime, which the JVM doesn't guarantee to be the declaration order, and
+     * saves through reflection when they don't match.
+     *
+     * @return The names of the fields. Must not be modified.
+     */
+    String[] fields();
+}
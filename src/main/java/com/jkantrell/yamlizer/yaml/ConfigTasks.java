@@ -0,0 +1,56 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.concurrent.*;
+
+/**
+ * Provides the executor asynchronous config loads and saves run on when none is given. It runs each task on its own
+ * virtual thread when the runtime supports them, which is looked up reflectively so the library still runs on
+ * runtimes that don't, and falls back to a shared pool of daemon threads otherwise, with one thread per available
+ * processor, which time out when idle.
+ */
+final class ConfigTasks {
+
+    //CONSTANTS
+    /**
+     * The maximum number of configs loaded at a time by batch loads, unless specified.
+     */
+    static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static Executor executor_ = null;
+
+    //CONSTRUCTORS
+    private ConfigTasks() {}
+
+    //METHODS
+    /**
+     * @return The default executor, created the first time it's requested.
+     */
+    static synchronized Executor defaultExecutor() {
+        if (ConfigTasks.executor_ == null) {
+            Executor executor = ConfigTasks.virtualThreads_();
+            ConfigTasks.executor_ = (executor == null) ? ConfigTasks.daemonPool_() : executor;
+        }
+        return ConfigTasks.executor_;
+    }
+
+    //PRIVATE METHODS
+    private static Executor virtualThreads_() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static Executor daemonPool_() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                ConfigTasks.DEFAULT_PARALLELISM, ConfigTasks.DEFAULT_PARALLELISM, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "Yamlizer config task");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
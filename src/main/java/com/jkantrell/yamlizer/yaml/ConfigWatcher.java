@@ -0,0 +1,179 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads watched AbstractYamlConfigs when their files change. A single WatchService and a single daemon thread serve
+ * every watched config, whichever directory its file is in, so watching many configs costs one registration per
+ * directory and no thread per config.
+ *
+ * Events are debounced per config: a reload only happens once the config's file has gone without events for the
+ * config's debounce delay, so the several writes an editor makes when saving result in a single reload. Reloads, and
+ * the change listeners they notify, run on the watcher thread.
+ */
+final class ConfigWatcher {
+
+    //CONSTANTS
+    private static ConfigWatcher instance_ = null;
+
+    /**
+     * Gets the watcher, starting it the first time.
+     *
+     * @return The watcher.
+     * @throws IOException if the WatchService could not be created.
+     */
+    static synchronized ConfigWatcher get() throws IOException {
+        if (ConfigWatcher.instance_ == null) { ConfigWatcher.instance_ = new ConfigWatcher(); }
+        return ConfigWatcher.instance_;
+    }
+
+    /**
+     * @return The watcher, or null if it hasn't been started.
+     */
+    static synchronized ConfigWatcher running() {
+        return ConfigWatcher.instance_;
+    }
+
+    //FIELDS
+    private final WatchService service_;
+    private final Map<Path, WatchKey> keys_ = new HashMap<>();
+    private final Map<Path, List<Watch>> files_ = new HashMap<>();
+    private final Map<AbstractYamlConfig, Watch> watches_ = new IdentityHashMap<>();
+    private final Map<Watch, Long> deadlines_ = new IdentityHashMap<>();
+
+    //CONSTRUCTORS
+    private ConfigWatcher() throws IOException {
+        this.service_ = FileSystems.getDefault().newWatchService();
+        Thread thread = new Thread(this::run_, "Yamlizer config watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    //METHODS
+    /**
+     * Starts watching the file of a config, replacing any previous watch of the same config. The previous watch is
+     * dropped even if the new one fails.
+     *
+     * @param config The config.
+     * @param file The file to watch.
+     * @param debounce The time, in nanoseconds, the file must go without events before the config is reloaded.
+     * @throws IOException if the directory of the file could not be watched.
+     */
+    synchronized void watch(AbstractYamlConfig config, Path file, long debounce) throws IOException {
+        file = file.toAbsolutePath().normalize();
+        Path directory = file.getParent();
+        if (directory == null) { throw new IOException("Unable to watch '" + file + "', as it has no parent directory."); }
+        //Unwatched first, as it cancels the directory's key when the config is the only one watched in it.
+        this.unwatch(config);
+        if (!this.keys_.containsKey(directory)) {
+            WatchKey key = directory.register(this.service_,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE
+            );
+            this.keys_.put(directory, key);
+        }
+        Watch watch = new Watch(config, file, debounce);
+        this.watches_.put(config, watch);
+        this.files_.computeIfAbsent(file, f -> new ArrayList<>()).add(watch);
+    }
+
+    /**
+     * Stops watching the file of a config. Pending reloads of the config are dropped, but one that's already running
+     * completes.
+     *
+     * @param config The config.
+     * @return true if the config was being watched.
+     */
+    synchronized boolean unwatch(AbstractYamlConfig config) {
+        Watch watch = this.watches_.remove(config);
+        if (watch == null) { return false; }
+        this.deadlines_.remove(watch);
+        List<Watch> watches = this.files_.get(watch.file());
+        watches.remove(watch);
+        if (!watches.isEmpty()) { return true; }
+        this.files_.remove(watch.file());
+
+        Path directory = watch.file().getParent();
+        for (Path file : this.files_.keySet()) {
+            if (file.getParent().equals(directory)) { return true; }
+        }
+        WatchKey key = this.keys_.remove(directory);
+        if (key != null) { key.cancel(); }
+        return true;
+    }
+
+    /**
+     * @param config The config.
+     * @return true if the config is being watched.
+     */
+    synchronized boolean isWatching(AbstractYamlConfig config) {
+        return this.watches_.containsKey(config);
+    }
+
+    //PRIVATE METHODS
+    private void run_() {
+        while (true) {
+            try {
+                long wait = this.wait_();
+                WatchKey key = (wait < 0) ? this.service_.take() : this.service_.poll(wait, TimeUnit.NANOSECONDS);
+                if (key != null) { this.process_(key); }
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            for (Watch watch : this.due_()) {
+                //Anything thrown here would end the thread, and with it every watch, so not even Errors get through.
+                try {
+                    watch.config().reload();
+                } catch (Throwable t) {
+                    watch.config().getLogger().error("Unable to reload '" + watch.file() + "' due to " + t.getClass().toString() + ".", t);
+                }
+            }
+        }
+    }
+
+    private synchronized long wait_() {
+        if (this.deadlines_.isEmpty()) { return -1; }
+        long next = Collections.min(this.deadlines_.values());
+        return Math.max(0, next - System.nanoTime());
+    }
+
+    private synchronized void process_(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        long now = System.nanoTime();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                for (Map.Entry<Path, List<Watch>> entry : this.files_.entrySet()) {
+                    if (entry.getKey().getParent().equals(directory)) { this.schedule_(entry.getValue(), now); }
+                }
+                continue;
+            }
+            List<Watch> watches = this.files_.get(directory.resolve((Path) event.context()));
+            if (watches != null) { this.schedule_(watches, now); }
+        }
+        if (!key.reset()) { this.keys_.remove(directory); }
+    }
+
+    private void schedule_(List<Watch> watches, long now) {
+        for (Watch watch : watches) {
+            this.deadlines_.put(watch, now + watch.debounce());
+        }
+    }
+
+    private synchronized List<Watch> due_() {
+        List<Watch> due = new ArrayList<>();
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Watch, Long>> iterator = this.deadlines_.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Watch, Long> entry = iterator.next();
+            if (entry.getValue() - now > 0) { continue; }
+            due.add(entry.getKey());
+            iterator.remove();
+        }
+        return due;
+    }
+
+    //CLASSES
+    private record Watch(AbstractYamlConfig config, Path file, long debounce) {}
+}
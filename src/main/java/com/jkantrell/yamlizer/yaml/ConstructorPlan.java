@@ -0,0 +1,218 @@
+package com.jkantrell.yamlizer.yaml;
+
+import com.jkantrell.yamlizer.reflect.TypeHandler;
+import org.apache.commons.lang3.StringUtils;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+
+/**
+ * The compiled construction plan of a record, or of a class with a constructor annotated with @YamlConstructor.
+ * It holds the key each constructor parameter is read from, its TypeHandler and a MethodHandle to the constructor.
+ * Plans of records also hold a MethodHandle to each component's accessor, so records can be written back to the
+ * same paths they're read from.
+ *
+ * Plans are computed once per class, the first time an object of it is deserialized.
+ */
+final class ConstructorPlan {
+
+    //CACHE
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ConstructorPlan NONE = new ConstructorPlan();
+    private static final ClassValue<ConstructorPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected ConstructorPlan computeValue(Class<?> type) {
+            if (type.isRecord()) {
+                return ConstructorPlan.ofRecord_(type);
+            }
+            Constructor<?> annotated = null;
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                if (!constructor.isAnnotationPresent(YamlConstructor.class)) { continue; }
+                if (annotated != null) {
+                    throw new IllegalStateException(type.getSimpleName() + " has more than one @YamlConstructor.");
+                }
+                annotated = constructor;
+            }
+            return (annotated == null) ? ConstructorPlan.NONE : ConstructorPlan.ofConstructor_(annotated);
+        }
+    };
+
+    /**
+     * Gets the construction plan of a given class.
+     *
+     * @param type The class.
+     * @return The plan. Null if the class is neither a record nor has a constructor annotated with @YamlConstructor.
+     * @throws IllegalStateException if the class has more than one annotated constructor, or a parameter name is missing.
+     */
+    static ConstructorPlan of(Class<?> type) {
+        ConstructorPlan plan = ConstructorPlan.PLANS.get(type);
+        return (plan == ConstructorPlan.NONE) ? null : plan;
+    }
+
+    //FIELDS
+    private final Class<?> type_;
+    private final String[] paths_;
+    private final String[][] keys_;
+    private final TypeHandler[] types_;
+    private final MethodHandle constructor_;
+    private final MethodHandle[] accessors_;
+    private final PathTree tree_;
+
+    //CONSTRUCTORS
+    private ConstructorPlan() {
+        this.type_ = null;
+        this.paths_ = null;
+        this.keys_ = null;
+        this.types_ = null;
+        this.constructor_ = null;
+        this.accessors_ = null;
+        this.tree_ = null;
+    }
+
+    private ConstructorPlan(Constructor<?> constructor, String[] paths, Type[] types, MethodHandle[] accessors) {
+        this.type_ = constructor.getDeclaringClass();
+        this.paths_ = paths;
+        this.keys_ = new String[paths.length][];
+        this.types_ = new TypeHandler[types.length];
+        for (int i = 0; i < paths.length; i++) {
+            this.keys_[i] = StringUtils.split(paths[i], '.');
+            this.types_[i] = TypeHandler.of(types[i]);
+        }
+        try {
+            constructor.setAccessible(true);
+            this.constructor_ = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, paths.length)
+                    .asType(ConstructorPlan.CONSTRUCTOR_TYPE);
+        } catch (IllegalAccessException | RuntimeException ex) {
+            throw new IllegalStateException("Unable to access the constructor of " + this.type_.getSimpleName() + ".", ex);
+        }
+        this.accessors_ = accessors;
+        this.tree_ = (accessors == null) ? null : new PathTree(this.keys_);
+    }
+
+    //METHODS
+    /**
+     * Creates an object out of a YamlMap, deserializing each constructor argument from its key.
+     *
+     * @param src The YamlMap containing the source data.
+     * @param yamlizer The Yamlizer to deserialize the arguments with.
+     * @param scope The scope to report problems into instead of throwing. Null to throw.
+     * @return The object. Null if problems were reported.
+     * @throws IllegalArgumentException if no scope is provided and a primitive argument is missing.
+     */
+    Object create(YamlMap src, Yamlizer yamlizer, YamlDiagnostics.Scope scope) {
+        Object[] arguments = new Object[this.types_.length];
+        for (int i = 0; i < arguments.length; i++) {
+            YamlDiagnostics.Scope argumentScope = (scope == null) ? null : scope.child(this.paths_[i]);
+            YamlElement element = src.find(this.keys_[i]);
+            if (element != null) {
+                arguments[i] = yamlizer.deserialize(element, this.types_[i], argumentScope, -1);
+            }
+            if (arguments[i] == null && this.types_[i].getClazz().isPrimitive()) {
+                if (argumentScope == null) {
+                    throw new IllegalArgumentException(
+                            "Missing value for '" + this.paths_[i] + "', required to create " + this.type_.getSimpleName() + "."
+                    );
+                }
+                if (element == null) {
+                    argumentScope.report(
+                            YamlDiagnostics.Kind.MISSING_PATH, -1,
+                            "A value is required to create " + this.type_.getSimpleName() + ".", null
+                    );
+                }
+                return null;
+            }
+        }
+        try {
+            return this.constructor_.invokeExact(arguments);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw new IllegalArgumentException(t);
+        }
+    }
+
+    /**
+     * @return true if objects of this plan's class can be written, which is only the case for records.
+     */
+    boolean isWritable() {
+        return this.accessors_ != null;
+    }
+
+    /**
+     * Writes a record as a map, each component at the path it's read from. Components whose paths conflict with
+     * others are left out.
+     *
+     * @param src The record.
+     * @param writer The writer to write it into.
+     * @throws IllegalStateException if this plan is not writable, or an accessor fails.
+     */
+    void write(Object src, YamlWriter writer) {
+        if (this.accessors_ == null) {
+            throw new IllegalStateException("Unable to write " + this.type_.getSimpleName() + ", only records can be written.");
+        }
+        this.tree_.write(writer, i -> {
+            try {
+                return this.accessors_[i].invokeExact(src);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+    }
+
+    //PRIVATE METHODS
+    private static ConstructorPlan ofRecord_(Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        String[] paths = new String[components.length];
+        Type[] types = new Type[components.length];
+        Class<?>[] raw = new Class<?>[components.length];
+        MethodHandle[] accessors = new MethodHandle[components.length];
+        for (int i = 0; i < components.length; i++) {
+            ConfigField annotation = components[i].getAnnotation(ConfigField.class);
+            paths[i] = (annotation == null || annotation.path().equals("")) ? components[i].getName() : annotation.path();
+            types[i] = components[i].getGenericType();
+            raw[i] = components[i].getType();
+            try {
+                components[i].getAccessor().setAccessible(true);
+                accessors[i] = MethodHandles.lookup().unreflect(components[i].getAccessor()).asType(ConstructorPlan.ACCESSOR_TYPE);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalStateException("Unable to access the accessor of " + type.getSimpleName() + "." + components[i].getName() + ".", ex);
+            }
+        }
+        try {
+            return new ConstructorPlan(type.getDeclaredConstructor(raw), paths, types, accessors);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException("Unable to find the canonical constructor of " + type.getSimpleName() + ".", ex);
+        }
+    }
+
+    private static ConstructorPlan ofConstructor_(Constructor<?> constructor) {
+        Parameter[] parameters = constructor.getParameters();
+        Type[] genericTypes = constructor.getGenericParameterTypes();
+        String[] paths = new String[parameters.length];
+        Type[] types = new Type[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            ConfigField annotation = parameters[i].getAnnotation(ConfigField.class);
+            if (annotation != null && !annotation.path().equals("")) {
+                paths[i] = annotation.path();
+            } else if (parameters[i].isNamePresent()) {
+                paths[i] = parameters[i].getName();
+            } else {
+                throw new IllegalStateException(
+                        "Unable to read the name of parameter " + i + " of " + constructor.getDeclaringClass().getSimpleName() +
+                        "'s @YamlConstructor. Compile with '-parameters' or annotate it with @ConfigField(path = ...)."
+                );
+            }
+            //Inner class constructors might omit the outer instance from their generic parameter types.
+            types[i] = (genericTypes.length == parameters.length) ? genericTypes[i] : parameters[i].getType();
+        }
+        return new ConstructorPlan(constructor, paths, types, null);
+    }
+}
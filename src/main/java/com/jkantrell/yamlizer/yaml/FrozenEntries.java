@@ -0,0 +1,131 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * The backing map of a frozen YamlMap. It's immutable, and keeps its keys and values in two flat arrays addressed by
+ * linear probing, instead of allocating a node per entry. All of its fields are final and never change after
+ * construction, so it can be read from any number of threads without locking once it's published.
+ */
+final class FrozenEntries extends AbstractMap<String, YamlElement> {
+
+    //FIELDS
+    private final String[] keys_;
+    private final YamlElement[] values_;
+    private final int size_;
+    private final Set<Entry<String, YamlElement>> entrySet_;
+
+    //CONSTRUCTORS
+    /**
+     * @param entries The entries to copy.
+     * @param freezer Converts each value into the value to keep.
+     * @param keys A pool of keys to reuse equal key instances from, and add new ones to.
+     */
+    FrozenEntries(Map<String, YamlElement> entries, UnaryOperator<YamlElement> freezer, Map<String, String> keys) {
+        int capacity = Integer.highestOneBit(Math.max(2, entries.size() * 2 - 1)) << 1;
+        this.keys_ = new String[capacity];
+        this.values_ = new YamlElement[capacity];
+        int size = 0;
+        for (Entry<String, YamlElement> entry : entries.entrySet()) {
+            String key = keys.computeIfAbsent(entry.getKey(), k -> k);
+            int i = this.slot_(key);
+            if (this.keys_[i] == null) { size++; }
+            this.keys_[i] = key;
+            this.values_[i] = freezer.apply(entry.getValue());
+        }
+        this.size_ = size;
+        this.entrySet_ = new EntrySet();
+    }
+
+    //METHODS
+    @Override
+    public int size() {
+        return this.size_;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && this.keys_[this.slot_((String) key)] != null;
+    }
+
+    @Override
+    public YamlElement get(Object key) {
+        return (key instanceof String) ? this.values_[this.slot_((String) key)] : null;
+    }
+
+    @Override
+    public Set<Entry<String, YamlElement>> entrySet() {
+        return this.entrySet_;
+    }
+
+    @Override
+    public YamlElement put(String key, YamlElement value) {
+        throw FrozenEntries.frozen_();
+    }
+
+    @Override
+    public YamlElement remove(Object key) {
+        throw FrozenEntries.frozen_();
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends YamlElement> m) {
+        throw FrozenEntries.frozen_();
+    }
+
+    @Override
+    public void clear() {
+        throw FrozenEntries.frozen_();
+    }
+
+    //PRIVATE METHODS
+    private static UnsupportedOperationException frozen_() {
+        return new UnsupportedOperationException("This YamlMap is frozen.");
+    }
+
+    private int slot_(String key) {
+        int mask = this.keys_.length - 1;
+        int h = key.hashCode();
+        int i = (h ^ (h >>> 16)) & mask;
+        while (this.keys_[i] != null && !this.keys_[i].equals(key)) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    //CLASSES
+    private final class EntrySet extends AbstractSet<Entry<String, YamlElement>> {
+
+        @Override
+        public int size() {
+            return FrozenEntries.this.size_;
+        }
+
+        @Override
+        public Iterator<Entry<String, YamlElement>> iterator() {
+            return new Iterator<>() {
+                private int next_ = this.advance_(0);
+
+                @Override
+                public boolean hasNext() {
+                    return this.next_ < FrozenEntries.this.keys_.length;
+                }
+
+                @Override
+                public Entry<String, YamlElement> next() {
+                    if (!this.hasNext()) { throw new NoSuchElementException(); }
+                    int i = this.next_;
+                    this.next_ = this.advance_(i + 1);
+                    return new SimpleImmutableEntry<>(FrozenEntries.this.keys_[i], FrozenEntries.this.values_[i]);
+                }
+
+                private int advance_(int from) {
+                    String[] keys = FrozenEntries.this.keys_;
+                    while (from < keys.length && keys[from] == null) { from++; }
+                    return from;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.jkantrell.yamlizer.yaml;
+
+/**
+ * Finds the ConfigLoader and ConfigSaver generated at compile time for config classes, if any. Each class is only
+ * looked up once.
+ */
+final class GeneratedAccessors {
+
+    //CACHE
+    private static final Object NONE = new Object();
+    private static final ClassValue<Object> LOADERS = new ClassValue<>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            return GeneratedAccessors.instantiate_(type, "$YamlLoader", ConfigLoader.class);
+        }
+    };
+    private static final ClassValue<Object> SAVERS = new ClassValue<>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            Object saver = GeneratedAccessors.instantiate_(type, "$YamlSaver", ConfigSaver.class);
+            return (saver == GeneratedAccessors.NONE || GeneratedAccessors.matchesPlan_(type, (ConfigSaver<?>) saver))
+                    ? saver : GeneratedAccessors.NONE;
+        }
+    };
+
+    private GeneratedAccessors() {}
+
+    //METHODS
+    /**
+     * Gets the generated loader of a config class.
+     *
+     * @param type The config class.
+     * @return The loader. Null if none was generated.
+     */
+    static <T extends AbstractYamlConfig> ConfigLoader<T> loader(Class<T> type) {
+        Object loader = GeneratedAccessors.LOADERS.get(type);
+        return (loader == GeneratedAccessors.NONE) ? null : (ConfigLoader<T>) loader;
+    }
+
+    /**
+     * Gets the generated saver of a config class.
+     *
+     * @param type The config class.
+     * @return The saver. Null if none was generated.
+     */
+    static <T extends AbstractYamlConfig> ConfigSaver<T> saver(Class<T> type) {
+        Object saver = GeneratedAccessors.SAVERS.get(type);
+        return (saver == GeneratedAccessors.NONE) ? null : (ConfigSaver<T>) saver;
+    }
+
+    //PRIVATE METHODS
+    //Savers index fields in the order they were declared in, ConfigPlan in the order reflection lists them in, which
+    //isn't guaranteed to be the same. Names are unique within each class, so equal name lists mean equal orders.
+    private static boolean matchesPlan_(Class<?> type, ConfigSaver<?> saver) {
+        ConfigPlan.Entry[] entries = ConfigPlan.of((Class<? extends AbstractYamlConfig>) type).entries();
+        String[] fields;
+        try {
+            fields = saver.fields();
+        } catch (RuntimeException | LinkageError ex) {
+            return false;
+        }
+        if (fields == null || fields.length != entries.length) { return false; }
+        for (int i = 0; i < fields.length; i++) {
+            if (!entries[i].name().equals(fields[i])) { return false; }
+        }
+        return true;
+    }
+
+    private static Object instantiate_(Class<?> type, String suffix, Class<?> contract) {
+        try {
+            Class<?> generated = Class.forName(type.getName() + suffix, true, type.getClassLoader());
+            if (!contract.isAssignableFrom(generated)) { return GeneratedAccessors.NONE; }
+            return generated.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return GeneratedAccessors.NONE;
+        }
+    }
+}
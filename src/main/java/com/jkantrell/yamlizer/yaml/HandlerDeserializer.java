@@ -0,0 +1,28 @@
+package com.jkantrell.yamlizer.yaml;
+
+import com.jkantrell.yamlizer.reflect.TypeHandler;
+import java.lang.reflect.Type;
+
+/**
+ * A YamlDeserializer that works on the already resolved TypeHandler of the object to deserialize, so it can reuse
+ * its handler tree instead of resolving the type again.
+ */
+@FunctionalInterface
+interface HandlerDeserializer<T> extends YamlDeserializer<T> {
+
+    /**
+     * Deserializes the object from a YamlElement.
+     *
+     * @param src The YamlElement containing the source data.
+     * @param type The TypeHandler of the Object to deserialize.
+     * @param scope The scope to report problems into instead of throwing. Null to throw.
+     * @param index The index of the source element in its list, -1 if it's not a list element.
+     * @return The object.
+     */
+    T deserialize(YamlElement src, TypeHandler type, YamlDiagnostics.Scope scope, int index);
+
+    @Override
+    default T deserialize(YamlElement src, Type objectType) {
+        return this.deserialize(src, TypeHandler.of(objectType), null, -1);
+    }
+}
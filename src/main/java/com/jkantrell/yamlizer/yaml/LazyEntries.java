@@ -0,0 +1,164 @@
+package com.jkantrell.yamlizer.yaml;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The backing map of a lazy YamlMap. It holds the raw values it was created with, and only converts each of them into
+ * a YamlElement the first time it's read, either directly or while iterating over the entries. Converted values
+ * replace the raw ones, so each value is converted at most once.
+ *
+ * Entries whose value can't be converted are dropped with a warning once they're read, so until then they're counted
+ * by size() and reported by containsKey() and keySet().
+ */
+final class LazyEntries extends AbstractMap<String, YamlElement> {
+
+    //CONSTANTS
+    private final static Logger LOGGER = LoggerFactory.getLogger(YamlMap.class);
+
+    //FIELDS
+    private final HashMap<String, Object> entries_;
+    private final Function<Object, YamlElement> converter_;
+    private Set<Entry<String, YamlElement>> entrySet_ = null;
+
+    //CONSTRUCTORS
+    /**
+     * @param entries The raw entries. Values that are already YamlElements are kept as they are.
+     * @param converter Converts a raw value into a YamlElement, throwing IllegalArgumentException if it can't.
+     */
+    LazyEntries(HashMap<String, Object> entries, Function<Object, YamlElement> converter) {
+        this.entries_ = entries;
+        this.converter_ = converter;
+    }
+
+    //METHODS
+    @Override
+    public int size() {
+        return this.entries_.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.entries_.containsKey(key);
+    }
+
+    @Override
+    public YamlElement get(Object key) {
+        Object value = this.entries_.get(key);
+        if (value == null || value instanceof YamlElement) { return (YamlElement) value; }
+        YamlElement element = this.convert_((String) key, value);
+        if (element == null) {
+            this.entries_.remove(key);
+        } else {
+            this.entries_.put((String) key, element);
+        }
+        return element;
+    }
+
+    @Override
+    public YamlElement put(String key, YamlElement value) {
+        return this.previous_(key, this.entries_.put(key, value));
+    }
+
+    @Override
+    public YamlElement remove(Object key) {
+        return this.previous_((String) key, this.entries_.remove(key));
+    }
+
+    @Override
+    public void clear() {
+        this.entries_.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return this.entries_.keySet();
+    }
+
+    @Override
+    public Set<Entry<String, YamlElement>> entrySet() {
+        if (this.entrySet_ == null) {
+            this.entrySet_ = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, YamlElement>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return LazyEntries.this.entries_.size();
+                }
+
+                @Override
+                public void clear() {
+                    LazyEntries.this.entries_.clear();
+                }
+            };
+        }
+        return this.entrySet_;
+    }
+
+    //PRIVATE METHODS
+    private YamlElement convert_(String key, Object value) {
+        try {
+            return this.converter_.apply(value);
+        } catch (IllegalArgumentException ex) {
+            LazyEntries.LOGGER.warn("Unable to load {}, as it doesn't represent a YAML primitive data type", key);
+            return null;
+        }
+    }
+
+    private YamlElement previous_(String key, Object previous) {
+        if (previous == null || previous instanceof YamlElement) { return (YamlElement) previous; }
+        return this.convert_(key, previous);
+    }
+
+    //CLASSES
+    /**
+     * Converts each entry right before returning it, skipping and removing the ones that fail. Removing through the
+     * iterator is only supported right after next(), before hasNext() is called again.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, YamlElement>> {
+
+        private final Iterator<Entry<String, Object>> entries_ = LazyEntries.this.entries_.entrySet().iterator();
+        private Entry<String, Object> next_ = null;
+        private boolean canRemove_ = false;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next_ == null && this.entries_.hasNext()) {
+                this.canRemove_ = false;
+                Entry<String, Object> entry = this.entries_.next();
+                Object value = entry.getValue();
+                if (!(value instanceof YamlElement)) {
+                    value = LazyEntries.this.convert_(entry.getKey(), value);
+                    if (value == null) {
+                        this.entries_.remove();
+                        continue;
+                    }
+                    entry.setValue(value);
+                }
+                this.next_ = entry;
+            }
+            return this.next_ != null;
+        }
+
+        @Override
+        public Entry<String, YamlElement> next() {
+            if (!this.hasNext()) { throw new NoSuchElementException(); }
+            Entry<String, Object> entry = this.next_;
+            this.next_ = null;
+            this.canRemove_ = true;
+            return (Entry<String, YamlElement>) (Entry<String, ?>) entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!this.canRemove_) { throw new IllegalStateException(); }
+            this.canRemove_ = false;
+            this.entries_.remove();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The nesting of a set of paths, such as the paths of the fields of a config class, grouped by their shared prefixes.
+ * It's what lets values kept at arbitrary paths be written as a single pass of nested maps, in the order their paths
+ * first appear, without collecting them into a map first.
+ *
+ * Paths that can't be part of the tree, because they're already taken, or because they go through or end at a path
+ * that's already a value or a map, are left out and reported as conflicts.
+ */
+final class PathTree {
+
+    //CONSTANTS
+    /**
+     * Returned by a ValueSource to leave a value out.
+     */
+    static final Object SKIP = new Object();
+
+    //FIELDS
+    private final Node[] roots_;
+    private final int[] conflicts_;
+
+    //CONSTRUCTORS
+    /**
+     * @param paths The paths, each split into keys. A path's index is the one its value is read with.
+     */
+    PathTree(String[][] paths) {
+        Builder root = new Builder();
+        List<Integer> conflicts = new ArrayList<>();
+        for (int i = 0; i < paths.length; i++) {
+            if (!root.add(paths[i], 0, i)) { conflicts.add(i); }
+        }
+        this.roots_ = root.build();
+        this.conflicts_ = conflicts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    //GETTERS
+    /**
+     * @return The indexes of the paths left out of the tree.
+     */
+    int[] conflicts() {
+        return this.conflicts_;
+    }
+
+    //METHODS
+    /**
+     * Writes every path in the tree as nested maps, reading the value of each path when it's reached.
+     *
+     * @param writer The writer to write into.
+     * @param values The source of the value of each path.
+     */
+    void write(YamlWriter writer, ValueSource values) {
+        PathTree.write_(this.roots_, writer, values);
+    }
+
+    //PRIVATE METHODS
+    private static void write_(Node[] nodes, YamlWriter writer, ValueSource values) {
+        writer.startMap();
+        for (Node node : nodes) {
+            if (node.children() != null) {
+                writer.key(node.key());
+                PathTree.write_(node.children(), writer, values);
+                continue;
+            }
+            Object value = values.get(node.index());
+            if (value == PathTree.SKIP) { continue; }
+            writer.key(node.key());
+            writer.value(value);
+        }
+        writer.endMap();
+    }
+
+    //CLASSES
+    /**
+     * Provides the value of each path in the tree.
+     */
+    @FunctionalInterface
+    interface ValueSource {
+
+        /**
+         * @param index The index of the path.
+         * @return The value, or SKIP to leave it out.
+         */
+        Object get(int index);
+    }
+
+    /**
+     * A key in the tree. Leaves hold the index of their path, and have no children.
+     */
+    private record Node(String key, int index, Node[] children) {}
+
+    private static final class Builder {
+
+        private final Map<String, Object> children_ = new LinkedHashMap<>();
+
+        private boolean add(String[] keys, int from, int index) {
+            if (from >= keys.length) { return false; }
+            Object child = this.children_.get(keys[from]);
+            if (from == keys.length - 1) {
+                if (child != null) { return false; }
+                this.children_.put(keys[from], index);
+                return true;
+            }
+            if (child == null) {
+                child = new Builder();
+                this.children_.put(keys[from], child);
+            }
+            return child instanceof Builder builder && builder.add(keys, from + 1, index);
+        }
+
+        private Node[] build() {
+            Node[] nodes = new Node[this.children_.size()];
+            int i = 0;
+            for (Map.Entry<String, Object> entry : this.children_.entrySet()) {
+                nodes[i++] = (entry.getValue() instanceof Builder builder)
+                        ? new Node(entry.getKey(), -1, builder.build())
+                        : new Node(entry.getKey(), (Integer) entry.getValue(), null);
+            }
+            return nodes;
+        }
+    }
+}
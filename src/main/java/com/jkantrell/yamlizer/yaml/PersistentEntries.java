@@ -0,0 +1,301 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.*;
+
+/**
+ * The backing map of a PersistentYamlMap: an immutable hash array mapped trie. Adding or removing a key creates a new
+ * instance that only copies the nodes along the key's path, at most seven of them, and shares every other node with
+ * the previous one.
+ *
+ * Every node keeps its content in a single array of key/value pairs. A pair with a null key holds a child node as its
+ * value instead.
+ */
+final class PersistentEntries extends AbstractMap<String, YamlElement> {
+
+    //CONSTANTS
+    static final PersistentEntries EMPTY = new PersistentEntries(null, 0);
+
+    //FIELDS
+    private final Node root_;
+    private final int size_;
+
+    //CONSTRUCTORS
+    private PersistentEntries(Node root, int size) {
+        this.root_ = root;
+        this.size_ = size;
+    }
+
+    //METHODS
+    /**
+     * Creates a copy of this map with a key set to a given value.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The copy. This map itself if the key is already set to the same value.
+     */
+    PersistentEntries with(String key, YamlElement value) {
+        boolean[] added = {false};
+        Node root = (this.root_ == null) ? BitmapNode.EMPTY : this.root_;
+        root = root.assoc(0, PersistentEntries.hash_(key), key, value, added);
+        if (root == this.root_) { return this; }
+        return new PersistentEntries(root, this.size_ + ((added[0]) ? 1 : 0));
+    }
+
+    /**
+     * Creates a copy of this map without a given key.
+     *
+     * @param key The key.
+     * @return The copy. This map itself if the key is not present.
+     */
+    PersistentEntries without(String key) {
+        if (this.root_ == null) { return this; }
+        Node root = this.root_.without(0, PersistentEntries.hash_(key), key);
+        if (root == this.root_) { return this; }
+        return (root == null) ? PersistentEntries.EMPTY : new PersistentEntries(root, this.size_ - 1);
+    }
+
+    @Override
+    public int size() {
+        return this.size_;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.get(key) != null;
+    }
+
+    @Override
+    public YamlElement get(Object key) {
+        if (this.root_ == null || !(key instanceof String string)) { return null; }
+        return this.root_.find(0, PersistentEntries.hash_(string), string);
+    }
+
+    @Override
+    public Set<Entry<String, YamlElement>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, YamlElement>> iterator() {
+                return new EntryIterator(PersistentEntries.this.root_);
+            }
+
+            @Override
+            public int size() {
+                return PersistentEntries.this.size_;
+            }
+        };
+    }
+
+    @Override
+    public YamlElement put(String key, YamlElement value) {
+        throw PersistentEntries.immutable_();
+    }
+
+    @Override
+    public YamlElement remove(Object key) {
+        throw PersistentEntries.immutable_();
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends YamlElement> m) {
+        throw PersistentEntries.immutable_();
+    }
+
+    @Override
+    public void clear() {
+        throw PersistentEntries.immutable_();
+    }
+
+    //PRIVATE METHODS
+    private static UnsupportedOperationException immutable_() {
+        return new UnsupportedOperationException("This YamlMap is persistent, use with() and without() to create modified versions.");
+    }
+
+    private static int hash_(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static Object[] set_(Object[] array, int index, Object value) {
+        Object[] copy = array.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    private static Object[] removePair_(Object[] array, int pair) {
+        Object[] copy = new Object[array.length - 2];
+        System.arraycopy(array, 0, copy, 0, 2 * pair);
+        System.arraycopy(array, 2 * pair + 2, copy, 2 * pair, copy.length - 2 * pair);
+        return copy;
+    }
+
+    //CLASSES
+    private interface Node {
+        YamlElement find(int shift, int hash, String key);
+        Node assoc(int shift, int hash, String key, YamlElement value, boolean[] added);
+        Node without(int shift, int hash, String key);
+        Object[] array();
+    }
+
+    private record BitmapNode(int bitmap, Object[] array) implements Node {
+
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        @Override
+        public YamlElement find(int shift, int hash, String key) {
+            int bit = BitmapNode.bit_(hash, shift);
+            if ((this.bitmap & bit) == 0) { return null; }
+            int index = 2 * this.index_(bit);
+            Object k = this.array[index];
+            if (k == null) { return ((Node) this.array[index + 1]).find(shift + 5, hash, key); }
+            return (key.equals(k)) ? (YamlElement) this.array[index + 1] : null;
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, String key, YamlElement value, boolean[] added) {
+            int bit = BitmapNode.bit_(hash, shift);
+            int index = 2 * this.index_(bit);
+            if ((this.bitmap & bit) == 0) {
+                Object[] array = new Object[this.array.length + 2];
+                System.arraycopy(this.array, 0, array, 0, index);
+                array[index] = key;
+                array[index + 1] = value;
+                System.arraycopy(this.array, index, array, index + 2, this.array.length - index);
+                added[0] = true;
+                return new BitmapNode(this.bitmap | bit, array);
+            }
+            Object k = this.array[index];
+            Object v = this.array[index + 1];
+            if (k == null) {
+                Node child = ((Node) v).assoc(shift + 5, hash, key, value, added);
+                return (child == v) ? this : new BitmapNode(this.bitmap, PersistentEntries.set_(this.array, index + 1, child));
+            }
+            if (key.equals(k)) {
+                return (value == v) ? this : new BitmapNode(this.bitmap, PersistentEntries.set_(this.array, index + 1, value));
+            }
+            added[0] = true;
+            Node child = BitmapNode.pair_(shift + 5, (String) k, (YamlElement) v, hash, key, value);
+            Object[] array = PersistentEntries.set_(this.array, index, null);
+            array[index + 1] = child;
+            return new BitmapNode(this.bitmap, array);
+        }
+
+        @Override
+        public Node without(int shift, int hash, String key) {
+            int bit = BitmapNode.bit_(hash, shift);
+            if ((this.bitmap & bit) == 0) { return this; }
+            int index = this.index_(bit);
+            Object k = this.array[2 * index];
+            Object v = this.array[2 * index + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(shift + 5, hash, key);
+                if (child == v) { return this; }
+                if (child != null) { return new BitmapNode(this.bitmap, PersistentEntries.set_(this.array, 2 * index + 1, child)); }
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            return (this.bitmap == bit) ? null : new BitmapNode(this.bitmap ^ bit, PersistentEntries.removePair_(this.array, index));
+        }
+
+        private int index_(int bit) {
+            return Integer.bitCount(this.bitmap & (bit - 1));
+        }
+
+        private static int bit_(int hash, int shift) {
+            return 1 << ((hash >>> shift) & 31);
+        }
+
+        private static Node pair_(int shift, String key1, YamlElement value1, int hash2, String key2, YamlElement value2) {
+            int hash1 = PersistentEntries.hash_(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+            }
+            boolean[] added = {false};
+            return BitmapNode.EMPTY.assoc(shift, hash1, key1, value1, added).assoc(shift, hash2, key2, value2, added);
+        }
+    }
+
+    /**
+     * Holds the keys whose hashes are all the same.
+     */
+    private record CollisionNode(int hash, Object[] array) implements Node {
+
+        @Override
+        public YamlElement find(int shift, int hash, String key) {
+            int index = this.index_(key);
+            return (index < 0) ? null : (YamlElement) this.array[index + 1];
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, String key, YamlElement value, boolean[] added) {
+            if (hash != this.hash) {
+                Node node = new BitmapNode(BitmapNode.bit_(this.hash, shift), new Object[] {null, this});
+                return node.assoc(shift, hash, key, value, added);
+            }
+            int index = this.index_(key);
+            if (index >= 0) {
+                return (this.array[index + 1] == value) ? this : new CollisionNode(this.hash, PersistentEntries.set_(this.array, index + 1, value));
+            }
+            Object[] array = Arrays.copyOf(this.array, this.array.length + 2);
+            array[this.array.length] = key;
+            array[this.array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(this.hash, array);
+        }
+
+        @Override
+        public Node without(int shift, int hash, String key) {
+            int index = this.index_(key);
+            if (index < 0) { return this; }
+            return (this.array.length == 2) ? null : new CollisionNode(this.hash, PersistentEntries.removePair_(this.array, index / 2));
+        }
+
+        private int index_(String key) {
+            for (int i = 0; i < this.array.length; i += 2) {
+                if (key.equals(this.array[i])) { return i; }
+            }
+            return -1;
+        }
+    }
+
+    private static final class EntryIterator implements Iterator<Entry<String, YamlElement>> {
+
+        private final ArrayDeque<Object[]> arrays_ = new ArrayDeque<>();
+        private final ArrayDeque<Integer> indexes_ = new ArrayDeque<>();
+        private Entry<String, YamlElement> next_ = null;
+
+        private EntryIterator(Node root) {
+            if (root != null) {
+                this.arrays_.push(root.array());
+                this.indexes_.push(0);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.next_ == null && !this.arrays_.isEmpty()) {
+                Object[] array = this.arrays_.peek();
+                int index = this.indexes_.pop();
+                if (index >= array.length) {
+                    this.arrays_.pop();
+                    continue;
+                }
+                this.indexes_.push(index + 2);
+                if (array[index] == null) {
+                    this.arrays_.push(((Node) array[index + 1]).array());
+                    this.indexes_.push(0);
+                } else {
+                    this.next_ = new SimpleImmutableEntry<>((String) array[index], (YamlElement) array[index + 1]);
+                }
+            }
+            return this.next_ != null;
+        }
+
+        @Override
+        public Entry<String, YamlElement> next() {
+            if (!this.hasNext()) { throw new NoSuchElementException(); }
+            Entry<String, YamlElement> next = this.next_;
+            this.next_ = null;
+            return next;
+        }
+    }
+}
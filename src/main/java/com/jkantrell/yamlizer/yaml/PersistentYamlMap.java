@@ -0,0 +1,196 @@
+package com.jkantrell.yamlizer.yaml;
+
+import org.apache.commons.lang3.StringUtils;
+import javax.management.openmbean.KeyAlreadyExistsException;
+import java.util.*;
+
+/**
+ * An immutable YamlMap whose versions share structure. with() and without() don't modify the map, but return a new
+ * version of it, which reuses every subtree the change didn't go through. Only the maps along the changed path are
+ * copied, and each of them only partially, so taking a version costs O(depth) and keeping many of them around only
+ * takes memory proportional to the paths that changed between them.
+ *
+ * Nested maps are PersistentYamlMaps as well, and nested lists are unmodifiable. Every method that modifies the map in
+ * place, including put and putInPath, throws UnsupportedOperationException.
+ */
+public final class PersistentYamlMap extends YamlMap {
+
+    //CONSTANTS
+    private static final PersistentYamlMap EMPTY = new PersistentYamlMap(PersistentEntries.EMPTY);
+
+    //CONSTRUCTORS
+    private PersistentYamlMap(PersistentEntries entries) {
+        super(entries);
+    }
+
+    /**
+     * @return The empty PersistentYamlMap.
+     */
+    public static PersistentYamlMap empty() {
+        return PersistentYamlMap.EMPTY;
+    }
+
+    /**
+     * Creates a PersistentYamlMap holding a deep copy of a map. Nested maps are copied into PersistentYamlMaps, and
+     * nested lists into unmodifiable ones.
+     *
+     * @param map The map to copy.
+     * @return The PersistentYamlMap. The map itself if it's already a PersistentYamlMap.
+     */
+    public static PersistentYamlMap of(Map<String, YamlElement> map) {
+        if (map instanceof PersistentYamlMap persistent) { return persistent; }
+        PersistentEntries entries = PersistentEntries.EMPTY;
+        for (Map.Entry<String, YamlElement> entry : map.entrySet()) {
+            entries = entries.with(entry.getKey(), PersistentYamlMap.persist_(entry.getValue()));
+        }
+        return PersistentYamlMap.derive_(entries);
+    }
+
+    //METHODS
+    /**
+     * Creates a version of this map with a value at a given path. Maps missing along the path are created.
+     *
+     * @param path The path, elements separated by '.'.
+     * @param value The value. Maps and lists in it are copied into persistent ones.
+     * @return The new version. This map itself if the value was already there.
+     * @throws KeyAlreadyExistsException if an element along the path is not a map.
+     */
+    public PersistentYamlMap with(String path, YamlElement value) throws KeyAlreadyExistsException {
+        return this.with(StringUtils.split(path, '.'), value);
+    }
+
+    /**
+     * Creates a version of this map with a value at a given path. Maps missing along the path are created.
+     *
+     * @param path The path.
+     * @param value The value. Maps and lists in it are copied into persistent ones.
+     * @return The new version. This map itself if the value was already there.
+     * @throws KeyAlreadyExistsException if an element along the path is not a map.
+     */
+    public PersistentYamlMap with(YamlPath path, YamlElement value) throws KeyAlreadyExistsException {
+        return this.with(path.keys(), value);
+    }
+
+    /**
+     * Creates a version of this map with a value at a given path. Maps missing along the path are created.
+     *
+     * @param keys The keys forming the path.
+     * @param value The value. Maps and lists in it are copied into persistent ones.
+     * @return The new version. This map itself if the value was already there.
+     * @throws KeyAlreadyExistsException if an element along the path is not a map.
+     */
+    public PersistentYamlMap with(String[] keys, YamlElement value) throws KeyAlreadyExistsException {
+        if (keys.length == 0) { throw new IllegalArgumentException("The path cannot be empty."); }
+        return this.with_(keys, 0, PersistentYamlMap.persist_(Objects.requireNonNull(value)));
+    }
+
+    /**
+     * Creates a version of this map without the value at a given path. The maps along the path are kept, even if
+     * they end up empty.
+     *
+     * @param path The path, elements separated by '.'.
+     * @return The new version. This map itself if there's nothing at the path.
+     */
+    public PersistentYamlMap without(String path) {
+        return this.without(StringUtils.split(path, '.'));
+    }
+
+    /**
+     * Creates a version of this map without the value at a given path. The maps along the path are kept, even if
+     * they end up empty.
+     *
+     * @param path The path.
+     * @return The new version. This map itself if there's nothing at the path.
+     */
+    public PersistentYamlMap without(YamlPath path) {
+        return this.without(path.keys());
+    }
+
+    /**
+     * Creates a version of this map without the value at a given path. The maps along the path are kept, even if
+     * they end up empty.
+     *
+     * @param keys The keys forming the path.
+     * @return The new version. This map itself if there's nothing at the path.
+     */
+    public PersistentYamlMap without(String[] keys) {
+        return (keys.length == 0) ? this : this.without_(keys, 0);
+    }
+
+    /**
+     * PersistentYamlMaps are already immutable, so there's nothing to freeze.
+     *
+     * @return This map.
+     */
+    @Override
+    public YamlMap freeze() {
+        return this;
+    }
+
+    //PRIVATE METHODS
+    private PersistentYamlMap with_(String[] keys, int from, YamlElement value) {
+        String key = keys[from];
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("The 'key' parameter cannot be an empty string.");
+        }
+        PersistentEntries entries = (PersistentEntries) this.map_;
+        if (from == keys.length - 1) {
+            return this.next_(entries.with(key, value));
+        }
+
+        YamlElement element = entries.get(key);
+        PersistentYamlMap child;
+        if (element == null) {
+            child = PersistentYamlMap.EMPTY;
+        } else if (element.is(YamlElementType.MAP)) {
+            child = (PersistentYamlMap) element.get(YamlElementType.MAP);
+        } else {
+            throw new KeyAlreadyExistsException("Element in property '" + key + "' is not a map. Can't access sub-property: '" + keys[from + 1] + "'.");
+        }
+
+        PersistentYamlMap updated = child.with_(keys, from + 1, value);
+        return (updated == child && element != null) ? this : this.next_(entries.with(key, new YamlElement(updated)));
+    }
+
+    private PersistentYamlMap without_(String[] keys, int from) {
+        PersistentEntries entries = (PersistentEntries) this.map_;
+        String key = keys[from];
+        if (from == keys.length - 1) {
+            return this.next_(entries.without(key));
+        }
+
+        YamlElement element = entries.get(key);
+        if (element == null || !element.is(YamlElementType.MAP)) { return this; }
+        PersistentYamlMap child = (PersistentYamlMap) element.get(YamlElementType.MAP);
+        PersistentYamlMap updated = child.without_(keys, from + 1);
+        return (updated == child) ? this : this.next_(entries.with(key, new YamlElement(updated)));
+    }
+
+    private PersistentYamlMap next_(PersistentEntries entries) {
+        return (entries == this.map_) ? this : PersistentYamlMap.derive_(entries);
+    }
+
+    private static PersistentYamlMap derive_(PersistentEntries entries) {
+        return (entries.isEmpty()) ? PersistentYamlMap.EMPTY : new PersistentYamlMap(entries);
+    }
+
+    private static YamlElement persist_(YamlElement element) {
+        switch (element.getKind()) {
+            case MAP: {
+                YamlMap map = element.get(YamlElementType.MAP);
+                PersistentYamlMap persistent = PersistentYamlMap.of(map);
+                return (persistent == map) ? element : new YamlElement(persistent);
+            }
+            case LIST: {
+                if (!(element.get() instanceof List<?> list)) { return element; }
+                YamlElement[] persistent = new YamlElement[list.size()];
+                for (int i = 0; i < persistent.length; i++) {
+                    persistent[i] = PersistentYamlMap.persist_((YamlElement) list.get(i));
+                }
+                return new YamlElement(Collections.unmodifiableList(Arrays.asList(persistent)));
+            }
+            default:
+                return element;
+        }
+    }
+}
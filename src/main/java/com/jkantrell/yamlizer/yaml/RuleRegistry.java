@@ -0,0 +1,79 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds rules keyed by the class they apply to, and resolves the rule that applies to any given class.
+ *
+ * An exact match always wins. Otherwise, the rule registered for the most specific supertype is used, ties among
+ * unrelated supertypes going to the earliest registered one. Resolutions are cached per class and the cache is
+ * dropped every time a rule is added.
+ *
+ * @param <R> The type of the rules held.
+ */
+final class RuleRegistry<R> {
+
+    //FIELDS
+    private static final Object NONE = new Object();
+    private volatile Map<Class<?>, R> rules_ = new LinkedHashMap<>();
+    private volatile ConcurrentHashMap<Class<?>, Object> cache_ = new ConcurrentHashMap<>();
+
+    //METHODS
+    /**
+     * Registers a rule for a given class, replacing any rule previously registered for it.
+     *
+     * @param type The class the rule applies to.
+     * @param rule The rule.
+     */
+    synchronized void add(Class<?> type, R rule) {
+        Map<Class<?>, R> rules = new LinkedHashMap<>(this.rules_);
+        rules.remove(type);
+        rules.put(type, rule);
+        this.rules_ = rules;
+        this.cache_ = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the rule that applies to a given class.
+     *
+     * @param clazz The class to look a rule for.
+     * @return The rule. Null if no rule applies to the class.
+     */
+    R resolve(Class<?> clazz) {
+        if (clazz == null) { return null; }
+        ConcurrentHashMap<Class<?>, Object> cache = this.cache_;
+        Object rule = cache.get(clazz);
+        if (rule == null) {
+            rule = this.lookUp_(this.rules_, clazz);
+            cache.putIfAbsent(clazz, rule);
+        }
+        return (rule == NONE) ? null : (R) rule;
+    }
+
+    //PRIVATE METHODS
+    private Object lookUp_(Map<Class<?>, R> rules, Class<?> clazz) {
+        R exact = rules.get(clazz);
+        if (exact != null) { return exact; }
+
+        List<Class<?>> candidates = new ArrayList<>();
+        for (Class<?> type : rules.keySet()) {
+            if (type.isAssignableFrom(clazz)) { candidates.add(type); }
+        }
+
+        for (Class<?> candidate : candidates) {
+            boolean mostSpecific = true;
+            for (Class<?> other : candidates) {
+                if (other != candidate && candidate.isAssignableFrom(other)) {
+                    mostSpecific = false;
+                    break;
+                }
+            }
+            if (mostSpecific) { return rules.get(candidate); }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,16 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the constructor Yamlizer uses to create objects of a class out of a YamlMap, when no deserializer is
+ * registered for it. Each parameter is read from the key matching its name, or from the path set by a @ConfigField
+ * annotation on it. Parameter names are only available when compiling with the '-parameters' flag.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.CONSTRUCTOR)
+public @interface YamlConstructor {
+}
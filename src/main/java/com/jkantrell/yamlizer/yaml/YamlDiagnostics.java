@@ -0,0 +1,125 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the problems found while deserializing, instead of throwing or logging them. It's filled by
+ * Yamlizer.deserialize and AbstractYamlConfig.loadWithDiagnostics, and can be safely shared by parallel deserialization.
+ *
+ * Nothing gets allocated until a problem is actually reported.
+ */
+public final class YamlDiagnostics {
+
+    //FIELDS
+    private List<Problem> problems_ = null;
+
+    //GETTERS
+    /**
+     * Gets the problems reported so far, in the order they were found.
+     *
+     * @return An unmodifiable copy of the problems.
+     */
+    public synchronized List<Problem> getProblems() {
+        return (this.problems_ == null) ? Collections.emptyList() : List.copyOf(this.problems_);
+    }
+
+    /**
+     * @return true if any problem has been reported, false otherwise.
+     */
+    public synchronized boolean hasProblems() {
+        return this.problems_ != null;
+    }
+
+    //METHODS
+    /**
+     * Creates a scope to report problems found under a given path.
+     *
+     * @param path The path, elements separated by '.'.
+     * @return The scope.
+     */
+    Scope scope(String path) {
+        return new Scope(this, null, path);
+    }
+
+    synchronized void report(Problem problem) {
+        if (this.problems_ == null) { this.problems_ = new ArrayList<>(); }
+        this.problems_.add(problem);
+    }
+
+    @Override
+    public String toString() {
+        return this.getProblems().toString();
+    }
+
+    //CLASSES
+    /**
+     * The kind of problem found.
+     */
+    public enum Kind {
+        /** The path or key is not present in the Yaml. */
+        MISSING_PATH,
+        /** The Yaml element is not of the type expected by the target. */
+        TYPE_MISMATCH,
+        /** There's no way to deserialize the target type. */
+        NO_DESERIALIZER,
+        /** The deserializer failed. */
+        DESERIALIZATION_FAILURE,
+        /** The value could not be written into its field. */
+        WRITE_FAILURE
+    }
+
+    /**
+     * A problem found while deserializing.
+     *
+     * @param kind The kind of problem.
+     * @param path The path to the element in which the problem was found.
+     * @param index The index of the list element in which the problem was found, -1 if it's not a list element.
+     * @param message A description of the problem.
+     * @param cause The exception that caused the problem, if any.
+     */
+    public record Problem(Kind kind, String path, int index, String message, Throwable cause) {
+        @Override
+        public String toString() {
+            return kind + " at '" + path + "'" + ((index < 0) ? "" : "[" + index + "]") + ": " + message;
+        }
+    }
+
+    /**
+     * Reports the problems found under a given path into a YamlDiagnostics. Scopes only hold their parent and their
+     * own key, so the path is only joined once a problem is reported under it.
+     */
+    static final class Scope {
+
+        private final YamlDiagnostics diagnostics_;
+        private final Scope parent_;
+        private final String key_;
+
+        private Scope(YamlDiagnostics diagnostics, Scope parent, String key) {
+            this.diagnostics_ = diagnostics;
+            this.parent_ = parent;
+            this.key_ = key;
+        }
+
+        /**
+         * Creates a scope for a key under this scope's path.
+         *
+         * @param key The key.
+         * @return The scope.
+         */
+        Scope child(String key) {
+            return new Scope(this.diagnostics_, this, key);
+        }
+
+        void report(Kind kind, int index, String message, Throwable cause) {
+            this.diagnostics_.report(new Problem(kind, this.path_(), index, message, cause));
+        }
+
+        private String path_() {
+            if (this.parent_ == null) { return this.key_; }
+            String parent = this.parent_.path_();
+            return parent.isEmpty() ? this.key_ : parent + "." + this.key_;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the structural difference between two YamlMap trees, as the list of the deepest paths whose value was
+ * added, removed or modified. Maps are compared key by key, so a change deep into a map only reports the path of the
+ * changed value, while lists and scalars are compared as a whole.
+ *
+ * Identical instances are skipped without being walked, and maps and lists of different sizes are reported right
+ * away, so unchanged subtrees shared by both trees cost nothing, and changed ones are found without walking them
+ * completely.
+ */
+final class YamlDiff {
+
+    //CONSTRUCTORS
+    private YamlDiff() {}
+
+    //METHODS
+    /**
+     * Computes the paths that differ between two trees.
+     *
+     * @param previous The previous tree.
+     * @param current The current tree.
+     * @return The paths added, removed or modified, in no particular order. Empty if the trees are equal.
+     */
+    static List<YamlPath> diff(YamlMap previous, YamlMap current) {
+        List<YamlPath> changes = new ArrayList<>();
+        YamlDiff.diff_(previous, current, new String[0], changes);
+        return changes;
+    }
+
+    /**
+     * Checks whether a path is affected by any of a list of changed paths, which is the case when one of them is the
+     * path itself, one of its prefixes, or a path under it.
+     *
+     * @param changes The changed paths.
+     * @param keys The path to check.
+     * @return true if the path is affected, false otherwise.
+     */
+    static boolean intersects(List<YamlPath> changes, String[] keys) {
+        for (YamlPath change : changes) {
+            String[] changed = change.keys();
+            int shared = Math.min(changed.length, keys.length);
+            if (Arrays.equals(changed, 0, shared, keys, 0, shared)) { return true; }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether two elements are structurally equal: of the same type, and holding equal values.
+     *
+     * @param a An element.
+     * @param b Another element.
+     * @return true if they're equal, false otherwise.
+     */
+    static boolean equal(YamlElement a, YamlElement b) {
+        if (a == b) { return true; }
+        if (a == null || b == null || !a.is(b.type)) { return false; }
+        switch (a.getKind()) {
+            case MAP: {
+                YamlMap mapA = a.get(YamlElementType.MAP);
+                YamlMap mapB = b.get(YamlElementType.MAP);
+                if (mapA == mapB) { return true; }
+                if (mapA.size() != mapB.size()) { return false; }
+                for (Map.Entry<String, YamlElement> entry : mapA.entrySet()) {
+                    if (!YamlDiff.equal(entry.getValue(), mapB.get(entry.getKey()))) { return false; }
+                }
+                return true;
+            }
+            case LIST: {
+                List<YamlElement> listA = a.get(YamlElementType.LIST);
+                List<YamlElement> listB = b.get(YamlElementType.LIST);
+                if (listA == listB) { return true; }
+                if (listA.size() != listB.size()) { return false; }
+                for (int i = 0; i < listA.size(); i++) {
+                    if (!YamlDiff.equal(listA.get(i), listB.get(i))) { return false; }
+                }
+                return true;
+            }
+            default:
+                return a.get().equals(b.get());
+        }
+    }
+
+    //PRIVATE METHODS
+    private static void diff_(YamlMap previous, YamlMap current, String[] path, List<YamlPath> changes) {
+        if (previous == current) { return; }
+        for (Map.Entry<String, YamlElement> entry : previous.entrySet()) {
+            YamlElement other = current.get(entry.getKey());
+            if (other == null) {
+                YamlDiff.changed_(path, entry.getKey(), changes);
+            } else {
+                YamlDiff.diff_(entry.getValue(), other, path, entry.getKey(), changes);
+            }
+        }
+        for (String key : current.keySet()) {
+            if (!previous.containsKey(key)) { YamlDiff.changed_(path, key, changes); }
+        }
+    }
+
+    private static void diff_(YamlElement previous, YamlElement current, String[] path, String key, List<YamlPath> changes) {
+        if (previous == current) { return; }
+        YamlMap previousMap = previous.get(YamlElementType.MAP);
+        YamlMap currentMap = current.get(YamlElementType.MAP);
+        //Empty keys can't be part of a YamlPath, so changes under them are reported at their parent.
+        if (previousMap != null && currentMap != null && !key.isEmpty()) {
+            String[] child = Arrays.copyOf(path, path.length + 1);
+            child[path.length] = key;
+            YamlDiff.diff_(previousMap, currentMap, child, changes);
+        } else if (!YamlDiff.equal(previous, current)) {
+            YamlDiff.changed_(path, key, changes);
+        }
+    }
+
+    private static void changed_(String[] path, String key, List<YamlPath> changes) {
+        if (key.isEmpty()) {
+            changes.add(YamlPath.of(path));
+            return;
+        }
+        String[] changed = Arrays.copyOf(path, path.length + 1);
+        changed[path.length] = key;
+        changes.add(YamlPath.of(changed));
+    }
+}
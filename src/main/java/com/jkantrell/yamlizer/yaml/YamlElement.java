@@ -1,14 +1,22 @@
 package com.jkantrell.yamlizer.yaml;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
 
 /**
  * Represents a Yaml data element, including Scalars, Maps and Lists.
+ *
+ * Int, long, double and boolean scalars created through YamlElement.of are stored unboxed, and can be read without
+ * allocating through getInt(), getLong(), getDouble() and getBoolean().
  */
 public class YamlElement {
 
+    //CONSTANTS
+    private static final YamlElement TRUE = new BooleanElement(true);
+    private static final YamlElement FALSE = new BooleanElement(false);
+
     //FIELDS
     protected final YamlElementType type;
     protected final Object element;
@@ -30,6 +38,65 @@ public class YamlElement {
         this.type = type;
     }
 
+    /**
+     * Creates a YamlElement of a given type that holds its value itself, rather than in the 'element' field.
+     * Subclasses doing so must override get().
+     *
+     * @param type The type of the element.
+     */
+    protected YamlElement(YamlElementType<?> type) {
+        this.element = null;
+        this.type = type;
+    }
+
+    /**
+     * Creates a YamlElement from a Java object, the same way the constructor does, except that Integers, Longs,
+     * Doubles and Booleans are stored unboxed.
+     *
+     * @param element The object to represent as Yaml type.
+     * @return The YamlElement.
+     * @throws IllegalArgumentException if the passed object cannot be interpreted as a Yaml type.
+     */
+    public static YamlElement of(Object element) {
+        if (element instanceof Integer i) { return YamlElement.of(i.intValue()); }
+        if (element instanceof Long l) { return YamlElement.of(l.longValue()); }
+        if (element instanceof Double d) { return YamlElement.of(d.doubleValue()); }
+        if (element instanceof Boolean b) { return YamlElement.of(b.booleanValue()); }
+        return new YamlElement(element);
+    }
+
+    /**
+     * @param value The value.
+     * @return An INT YamlElement holding the value unboxed.
+     */
+    public static YamlElement of(int value) {
+        return new IntElement(value);
+    }
+
+    /**
+     * @param value The value.
+     * @return A LONG YamlElement holding the value unboxed.
+     */
+    public static YamlElement of(long value) {
+        return new LongElement(value);
+    }
+
+    /**
+     * @param value The value.
+     * @return A DOUBLE YamlElement holding the value unboxed.
+     */
+    public static YamlElement of(double value) {
+        return new DoubleElement(value);
+    }
+
+    /**
+     * @param value The value.
+     * @return A shared BOOL YamlElement holding the value.
+     */
+    public static YamlElement of(boolean value) {
+        return (value) ? YamlElement.TRUE : YamlElement.FALSE;
+    }
+
     /**
      * Checks if the element is of a given YamlType.
      *
@@ -37,20 +104,38 @@ public class YamlElement {
      * @return true if the type provided matches the element's type, false otherwise.
      */
     public boolean is(YamlElementType<?> type) {
-        return this.type.equals(type);
+        return this.type == type;
+    }
+
+    /**
+     * Gets the kind of Yaml type this element is of, to switch on.
+     *
+     * @return the kind.
+     */
+    public YamlElementType.Kind getKind() {
+        return this.type.getKind();
     }
 
     /**
      * Gets the element casted as the Java class represented by the specified Yaml type, if the object is actually of that type.
+     * Integer elements can also be gotten as any wider integer type, or as DOUBLE, see YamlElementType.canBeReadAs.
      *
      * @param type The Yaml type to get the element as.
      * @return The element. Null if the element is not of the specified type.
      */
     public <T> T get(YamlElementType<T> type) {
         if (this.is(type)) {
-            return (T) this.element;
+            return (T) this.get();
         }
-        return null;
+        if (!this.type.canBeReadAs(type)) {
+            return null;
+        }
+        return (T) switch (type.getKind()) {
+            case LONG -> Long.valueOf(this.getLong());
+            case BIG_INTEGER -> BigInteger.valueOf(this.getLong());
+            case DOUBLE -> Double.valueOf(this.getDouble());
+            default -> null;
+        };
     }
 
     /**
@@ -62,11 +147,52 @@ public class YamlElement {
         return element;
     }
 
+    /**
+     * Gets the value of an INT element.
+     *
+     * @return the value.
+     * @throws ClassCastException if this element is not INT.
+     */
+    public int getInt() throws ClassCastException {
+        return (Integer) this.expect_(YamlElementType.INT);
+    }
+
+    /**
+     * Gets the value of an INT or LONG element.
+     *
+     * @return the value.
+     * @throws ClassCastException if this element is neither INT nor LONG.
+     */
+    public long getLong() throws ClassCastException {
+        return ((Number) this.expect_(YamlElementType.LONG)).longValue();
+    }
+
+    /**
+     * Gets the value of a DOUBLE, INT or LONG element.
+     *
+     * @return the value.
+     * @throws ClassCastException if this element is neither DOUBLE, INT nor LONG.
+     */
+    public double getDouble() throws ClassCastException {
+        return ((Number) this.expect_(YamlElementType.DOUBLE)).doubleValue();
+    }
+
+    /**
+     * Gets the value of a BOOL element.
+     *
+     * @return the value.
+     * @throws ClassCastException if this element is not BOOL.
+     */
+    public boolean getBoolean() throws ClassCastException {
+        return (Boolean) this.expect_(YamlElementType.BOOL);
+    }
+
     /**
      * Gets a list of all the sub-Yaml elements contained in this Yaml element, all casted to the Java class represented by the
      * specified Yaml type.
      *
      * Useful under the certainty of this element being a list and all the elements in it are of the same Yaml primitive type.
+     * The list is copied on every call, use listView to read it without copying it.
      *
      * @param type The type to get all elements in the list as.
      * @return The list.
@@ -75,25 +201,178 @@ public class YamlElement {
     public <T> List<T> getListOf(YamlElementType<T> type) throws ClassCastException {
         if (!this.is(YamlElementType.LIST)) { throw new ClassCastException("Not a list."); }
         List<YamlElement> list = this.get(YamlElementType.LIST);
-        List<T> tList = new ArrayList<>();
-        list.forEach(elm -> {
+        List<T> tList = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            YamlElement elm = list.get(i);
             T object = elm.get(type);
-            if (object != null) {
-                tList.add(object);
-            } else {
+            if (object == null) {
                 throw new ClassCastException(
-                        "Element of index " + list.indexOf(elm) + " is " + elm.type.getType().getSimpleName() +
+                        "Element of index " + i + " is " + elm.type.getType().getSimpleName() +
                         ", expected all to be of type " + type.getType().getSimpleName() + ". Unable to parse list."
                 );
             }
-        });
+            tList.add(object);
+        }
 
         return tList;
     }
 
+    /**
+     * Gets a read-only view of the sub-Yaml elements contained in this Yaml element, as the Java class represented by
+     * the specified Yaml type. Unlike getListOf, nothing is copied nor checked upfront, each element is checked when
+     * it's read. See YamlListView.
+     *
+     * @param type The type to read the elements in the list as.
+     * @return The view.
+     * @throws ClassCastException If this element is not a list.
+     */
+    public <T> YamlListView<T> listView(YamlElementType<T> type) throws ClassCastException {
+        return new YamlListView<>(this.list_(), type);
+    }
+
+    /**
+     * Gets a read-only view of the INT elements contained in this Yaml element, which can be read as ints.
+     *
+     * @return The view.
+     * @throws ClassCastException If this element is not a list.
+     */
+    public YamlListView.OfInt intListView() throws ClassCastException {
+        return new YamlListView.OfInt(this.list_());
+    }
+
+    /**
+     * Gets a read-only view of the INT or LONG elements contained in this Yaml element, which can be read as longs.
+     *
+     * @return The view.
+     * @throws ClassCastException If this element is not a list.
+     */
+    public YamlListView.OfLong longListView() throws ClassCastException {
+        return new YamlListView.OfLong(this.list_());
+    }
+
+    /**
+     * Gets a read-only view of the DOUBLE, INT or LONG elements contained in this Yaml element, which can be read as doubles.
+     *
+     * @return The view.
+     * @throws ClassCastException If this element is not a list.
+     */
+    public YamlListView.OfDouble doubleListView() throws ClassCastException {
+        return new YamlListView.OfDouble(this.list_());
+    }
+
     @Override
     public String toString() {
-        return "[Type: " + this.type.getType().getSimpleName() + ", Value: " + element.toString() + "]";
+        return "[Type: " + this.type.getType().getSimpleName() + ", Value: " + this.get().toString() + "]";
+    }
+
+    //PRIVATE METHODS
+    private List<YamlElement> list_() {
+        if (!this.is(YamlElementType.LIST)) { throw new ClassCastException("Not a list."); }
+        return (List<YamlElement>) this.get();
+    }
+
+    private Object expect_(YamlElementType<?> type) {
+        if (!this.type.canBeReadAs(type)) {
+            throw new ClassCastException(
+                    "Expected " + type.getType().getSimpleName() + ", found " + this.type.getType().getSimpleName() + "."
+            );
+        }
+        return this.get();
+    }
+
+    //CLASSES
+    private static final class IntElement extends YamlElement {
+
+        private final int value_;
+
+        private IntElement(int value) {
+            super(YamlElementType.INT);
+            this.value_ = value;
+        }
+
+        @Override
+        public Object get() {
+            return this.value_;
+        }
+
+        @Override
+        public int getInt() {
+            return this.value_;
+        }
+
+        @Override
+        public long getLong() {
+            return this.value_;
+        }
+
+        @Override
+        public double getDouble() {
+            return this.value_;
+        }
+    }
+
+    private static final class LongElement extends YamlElement {
+
+        private final long value_;
+
+        private LongElement(long value) {
+            super(YamlElementType.LONG);
+            this.value_ = value;
+        }
+
+        @Override
+        public Object get() {
+            return this.value_;
+        }
+
+        @Override
+        public long getLong() {
+            return this.value_;
+        }
+
+        @Override
+        public double getDouble() {
+            return this.value_;
+        }
     }
 
+    private static final class DoubleElement extends YamlElement {
+
+        private final double value_;
+
+        private DoubleElement(double value) {
+            super(YamlElementType.DOUBLE);
+            this.value_ = value;
+        }
+
+        @Override
+        public Object get() {
+            return this.value_;
+        }
+
+        @Override
+        public double getDouble() {
+            return this.value_;
+        }
+    }
+
+    private static final class BooleanElement extends YamlElement {
+
+        private final boolean value_;
+
+        private BooleanElement(boolean value) {
+            super(YamlElementType.BOOL);
+            this.value_ = value;
+        }
+
+        @Override
+        public Object get() {
+            return this.value_;
+        }
+
+        @Override
+        public boolean getBoolean() {
+            return this.value_;
+        }
+    }
 }
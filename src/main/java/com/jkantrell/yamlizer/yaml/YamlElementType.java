@@ -1,27 +1,33 @@
 package com.jkantrell.yamlizer.yaml;
 
+import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
 
 /**
  * A fake-enum class that represents all possible primitive data types in Yaml, including Scalars, Lists and Dictionaries.
+ *
+ * There's a single instance per type, so they can be compared by identity, and each of them has a Kind that can be
+ * used in switch statements.
  */
 public class YamlElementType<E> {
 
     //FAKE ENUM VALUES
-    public static final YamlElementType<Integer> INT = new YamlElementType<>(Integer.class);
-    public static final YamlElementType<Double> DOUBLE = new YamlElementType<>(Double.class);
-    public static final YamlElementType<String> STRING = new YamlElementType<>(String.class);
-    public static final YamlElementType<Boolean> BOOL = new YamlElementType<>(Boolean.class);
-    public static final YamlElementType<List<YamlElement>> LIST = new YamlElementType<>(List.class);
-    public static final YamlElementType<YamlMap> MAP = new YamlElementType<>(Map.class);
+    public static final YamlElementType<Integer> INT = new YamlElementType<>(Integer.class, Kind.INT);
+    public static final YamlElementType<Long> LONG = new YamlElementType<>(Long.class, Kind.LONG);
+    public static final YamlElementType<BigInteger> BIG_INTEGER = new YamlElementType<>(BigInteger.class, Kind.BIG_INTEGER);
+    public static final YamlElementType<Double> DOUBLE = new YamlElementType<>(Double.class, Kind.DOUBLE);
+    public static final YamlElementType<String> STRING = new YamlElementType<>(String.class, Kind.STRING);
+    public static final YamlElementType<Boolean> BOOL = new YamlElementType<>(Boolean.class, Kind.BOOL);
+    public static final YamlElementType<List<YamlElement>> LIST = new YamlElementType<>(List.class, Kind.LIST);
+    public static final YamlElementType<YamlMap> MAP = new YamlElementType<>(Map.class, Kind.MAP);
 
-    private static final YamlElementType<?>[] values_ = {INT, DOUBLE,STRING,BOOL,LIST,MAP};
+    private static final YamlElementType<?>[] values_ = {INT,LONG,BIG_INTEGER,DOUBLE,STRING,BOOL,LIST,MAP};
 
     /**
      * Gets all the values of the fake-enum. Each one representing a type of primitive data in Yaml.
      *
-     * @return the values as an array.
+     * @return the values as an array, in ordinal order.
      */
     public static YamlElementType<?>[] values() {
         return values_;
@@ -30,16 +36,37 @@ public class YamlElementType<E> {
     private static final Map<Class<?>, YamlElementType<?>> PRIMITIVE_MAP = Map.ofEntries(
             Map.entry(int.class,INT),
             Map.entry(float.class, DOUBLE),
-            Map.entry(long.class, INT),
+            Map.entry(long.class, LONG),
             Map.entry(double.class, DOUBLE),
             Map.entry(short.class, INT),
             Map.entry(char.class,STRING),
             Map.entry(boolean.class,BOOL)
     );
+    private static final YamlElementType<Void> NOT_ASSIGNABLE = new YamlElementType<>(Void.class, null);
+    private static final ClassValue<YamlElementType<?>> ASSIGNABLE = new ClassValue<>() {
+        @Override
+        protected YamlElementType<?> computeValue(Class<?> clazz) {
+            if (clazz.isArray()) {
+                return YamlElementType.LIST;
+            }
+            if (YamlElementType.PRIMITIVE_MAP.containsKey(clazz)) {
+                return YamlElementType.PRIMITIVE_MAP.get(clazz);
+            }
+            for (YamlElementType<?> type : YamlElementType.values()) {
+                if (type.getType().isAssignableFrom(clazz)) {
+                    return type;
+                }
+            }
+            return YamlElementType.NOT_ASSIGNABLE;
+        }
+    };
+
     private final Class<?> type_;
+    private final Kind kind_;
 
-    private YamlElementType(Class<?> type) {
+    private YamlElementType(Class<?> type, Kind kind) {
         this.type_ = type;
+        this.kind_ = kind;
     }
 
     /**
@@ -52,36 +79,89 @@ public class YamlElementType<E> {
     }
 
     /**
-     * Gets the YamlElementType object that can be assigned to the object provided.
+     * Gets the Kind of this Yaml type, to switch on.
+     *
+     * @return the Kind.
+     */
+    public Kind getKind() {
+        return this.kind_;
+    }
+
+    /**
+     * Gets the position of this Yaml type in values(), which is also the ordinal of its Kind.
+     *
+     * @return the ordinal.
+     */
+    public int ordinal() {
+        return this.kind_.ordinal();
+    }
+
+    /**
+     * Checks if elements of this type can be read as elements of another type. Besides its own type, an element can be
+     * read as any wider integer type: INT elements can be read as LONG or BIG_INTEGER, and LONG ones as BIG_INTEGER.
+     * INT and LONG elements can also be read as DOUBLE, since YAML resolves whole numbers like 1 as integers even where
+     * a float is meant.
+     *
+     * @param type the type to read elements of this type as.
+     * @return true if the elements can be read as the given type, false otherwise.
+     */
+    public boolean canBeReadAs(YamlElementType<?> type) {
+        if (this == type) { return true; }
+        return switch (type.kind_) {
+            case LONG -> this.kind_ == Kind.INT;
+            case BIG_INTEGER, DOUBLE -> this.kind_ == Kind.INT || this.kind_ == Kind.LONG;
+            default -> false;
+        };
+    }
+
+    /**
+     * Gets the YamlElementType object that can be assigned to the object provided. The result is cached per class.
      *
      * @param object the object to assign.
-     * @return the YamlElementType object. Null if non-assignable.
+     * @return the YamlElementType object.
+     * @throws IllegalArgumentException if the object is null or not YAML type assignable.
      */
     public static YamlElementType<?> assign(Object object) {
-        YamlElementType<?> r = null;
-        Class<?> clazz = object.getClass();
-
-        if (object.getClass().isArray()) {
-            return YamlElementType.LIST;
+        if (object == null) {
+            throw new IllegalArgumentException("null is not YAML type assignable.");
         }
-        if (YamlElementType.PRIMITIVE_MAP.containsKey(clazz)) {
-            return YamlElementType.PRIMITIVE_MAP.get(clazz);
-        }
-        for (YamlElementType<?> type : YamlElementType.values()) {
-            if (type.getType().isAssignableFrom(clazz)) {
-                return type;
-            }
+        YamlElementType<?> type = YamlElementType.ASSIGNABLE.get(object.getClass());
+        if (type == YamlElementType.NOT_ASSIGNABLE) {
+            throw new IllegalArgumentException(object.getClass().getSimpleName() + " is not YAML type assignable.");
         }
-        throw new IllegalArgumentException(object.getClass().getSimpleName() + " is not YAML type assignable.");
+        return type;
     }
 
+    /**
+     * YamlElementTypes are unique, so they're equal only to themselves.
+     */
     @Override
     public boolean equals(Object object) {
-        if (this == object) { return true; }
-        if (object == null) { return false; }
-        if (object.getClass().equals(this.getClass())) {
-            return ((YamlElementType) object).getType().equals(this.getType());
-        }
-        return false;
+        return this == object;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return this.kind_.name();
+    }
+
+    //CLASSES
+    /**
+     * The kind of a YamlElementType, declared in the same order as values().
+     */
+    public enum Kind {
+        INT,
+        LONG,
+        BIG_INTEGER,
+        DOUBLE,
+        STRING,
+        BOOL,
+        LIST,
+        MAP
     }
 }
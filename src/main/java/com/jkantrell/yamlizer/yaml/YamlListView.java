@@ -0,0 +1,177 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read-only view of a list of YamlElements as a list of the Java class represented by a Yaml type. Unlike
+ * YamlElement.getListOf, creating a view copies nothing and checks nothing: each element is checked when it's read,
+ * which only takes comparing its type, so reading the same list many times doesn't allocate anything besides the
+ * boxing of the values read. Elements of a different type are reported with their index once they're read.
+ *
+ * The view is backed by the list, so changes made to the list are reflected in it. checkAll() can be used to check
+ * every element upfront, the same way getListOf does.
+ *
+ * The primitive views, OfInt, OfLong and OfDouble, also read their elements without boxing them.
+ *
+ * @param <T> The Java class the elements are read as.
+ */
+public class YamlListView<T> extends AbstractList<T> implements RandomAccess {
+
+    //FIELDS
+    protected final List<YamlElement> list;
+    protected final YamlElementType<T> type;
+
+    //CONSTRUCTORS
+    YamlListView(List<YamlElement> list, YamlElementType<T> type) {
+        this.list = list;
+        this.type = type;
+    }
+
+    //GETTERS
+    /**
+     * @return The Yaml type the elements are read as.
+     */
+    public YamlElementType<T> getType() {
+        return this.type;
+    }
+
+    //METHODS
+    /**
+     * Gets the element at a given index, as the Java class represented by the type of this view.
+     * Integer elements can also be read as any wider integer type, or as DOUBLE, see YamlElementType.canBeReadAs.
+     *
+     * @param index The index.
+     * @return The element.
+     * @throws ClassCastException if the element at the index is not of the type of this view.
+     */
+    @Override
+    public T get(int index) throws ClassCastException {
+        YamlElement element = this.list.get(index);
+        T value = element.get(this.type);
+        if (value == null) { throw this.mismatch_(index, element); }
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return this.list.size();
+    }
+
+    /**
+     * Checks that every element in the list is of the type of this view.
+     *
+     * @return This view.
+     * @throws ClassCastException if any of the elements is not of the type of this view.
+     */
+    public YamlListView<T> checkAll() throws ClassCastException {
+        for (int i = 0; i < this.list.size(); i++) {
+            YamlElement element = this.list.get(i);
+            if (!element.type.canBeReadAs(this.type)) { throw this.mismatch_(i, element); }
+        }
+        return this;
+    }
+
+    //PRIVATE METHODS
+    private ClassCastException mismatch_(int index, YamlElement element) {
+        return new ClassCastException(
+                "Element of index " + index + " is " + element.type.getType().getSimpleName() +
+                ", expected all to be of type " + this.type.getType().getSimpleName() + "."
+        );
+    }
+
+    //CLASSES
+    /**
+     * A view of a list of INT elements, which can be read as ints without boxing them.
+     */
+    public static final class OfInt extends YamlListView<Integer> {
+
+        OfInt(List<YamlElement> list) {
+            super(list, YamlElementType.INT);
+        }
+
+        /**
+         * @param index The index.
+         * @return The int at the index.
+         * @throws ClassCastException if the element at the index is not INT.
+         */
+        public int getInt(int index) throws ClassCastException {
+            YamlElement element = this.list.get(index);
+            if (!element.is(YamlElementType.INT)) { throw super.mismatch_(index, element); }
+            return element.getInt();
+        }
+
+        /**
+         * @return A new array holding every element in the list.
+         * @throws ClassCastException if any of the elements is not INT.
+         */
+        public int[] toIntArray() throws ClassCastException {
+            int[] array = new int[this.list.size()];
+            for (int i = 0; i < array.length; i++) { array[i] = this.getInt(i); }
+            return array;
+        }
+    }
+
+    /**
+     * A view of a list of INT or LONG elements, which can be read as longs without boxing them.
+     */
+    public static final class OfLong extends YamlListView<Long> {
+
+        OfLong(List<YamlElement> list) {
+            super(list, YamlElementType.LONG);
+        }
+
+        /**
+         * @param index The index.
+         * @return The long at the index.
+         * @throws ClassCastException if the element at the index is neither INT nor LONG.
+         */
+        public long getLong(int index) throws ClassCastException {
+            YamlElement element = this.list.get(index);
+            if (!element.type.canBeReadAs(YamlElementType.LONG)) { throw super.mismatch_(index, element); }
+            return element.getLong();
+        }
+
+        /**
+         * @return A new array holding every element in the list.
+         * @throws ClassCastException if any of the elements is neither INT nor LONG.
+         */
+        public long[] toLongArray() throws ClassCastException {
+            long[] array = new long[this.list.size()];
+            for (int i = 0; i < array.length; i++) { array[i] = this.getLong(i); }
+            return array;
+        }
+    }
+
+    /**
+     * A view of a list of DOUBLE, INT or LONG elements, which can be read as doubles without boxing them.
+     */
+    public static final class OfDouble extends YamlListView<Double> {
+
+        OfDouble(List<YamlElement> list) {
+            super(list, YamlElementType.DOUBLE);
+        }
+
+        /**
+         * @param index The index.
+         * @return The double at the index.
+         * @throws ClassCastException if the element at the index is neither DOUBLE, INT nor LONG.
+         */
+        public double getDouble(int index) throws ClassCastException {
+            YamlElement element = this.list.get(index);
+            if (!element.type.canBeReadAs(YamlElementType.DOUBLE)) { throw super.mismatch_(index, element); }
+            return element.getDouble();
+        }
+
+        /**
+         * @return A new array holding every element in the list.
+         * @throws ClassCastException if any of the elements is neither DOUBLE, INT nor LONG.
+         */
+        public double[] toDoubleArray() throws ClassCastException {
+            double[] array = new double[this.list.size()];
+            for (int i = 0; i < array.length; i++) { array[i] = this.getDouble(i); }
+            return array;
+        }
+    }
+}
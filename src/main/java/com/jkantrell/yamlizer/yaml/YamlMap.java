@@ -4,10 +4,19 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.reader.UnicodeReader;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is an implementation of Map<String, YamlElement>, and it's a YamlElement at the same time.
@@ -16,17 +25,56 @@ import java.util.*;
 public class YamlMap implements Map<String,YamlElement> {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(YamlMap.class);
-    protected final HashMap<String,YamlElement> map_ = new HashMap<>();
+    protected final Map<String,YamlElement> map_;
+    private volatile boolean indexed_ = false;
+    private volatile HashMap<String,YamlElement> index_ = null;
+    private volatile int indexVersion_ = 0;
+    private volatile List<WeakReference<YamlMap>> indexOwners_ = null;
+
+    public YamlMap() {
+        this.map_ = new HashMap<>();
+    }
+
+    YamlMap(int expectedSize) {
+        this.map_ = new HashMap<>((int) (expectedSize / 0.75f) + 1);
+    }
 
-    public YamlMap() {}
+    /**
+     * Creates a YamlMap backed by a given map, such as the ones lazy, frozen, concurrent and persistent YamlMaps use.
+     *
+     * @param entries the backing map.
+     */
+    YamlMap(AbstractMap<String,YamlElement> entries) {
+        this.map_ = entries;
+    }
 
     /**
-     * Creates a new YamlMap from an InputStream providing Yaml data.
+     * Creates a new YamlMap from an InputStream providing Yaml data. The YamlMap is built directly out of the parsed
+     * Yaml nodes, without an intermediate Map being created. An empty document results in an empty YamlMap.
      *
      * @param inputStream the InputStream to load.
+     * @throws IllegalArgumentException if the document is not a Yaml dictionary.
      */
     public YamlMap(InputStream inputStream) {
-        this((Map<String, Object>) new Yaml().load(inputStream));
+        this(inputStream, null);
+    }
+
+    /**
+     * Creates a new YamlMap from an InputStream providing Yaml data, just like YamlMap(InputStream) does, but sharing
+     * a single instance of every key and short string scalar through a YamlStringPool.
+     *
+     * @param inputStream the InputStream to load.
+     * @param pool the pool to canonicalize Strings with, or null to not pool them.
+     * @throws IllegalArgumentException if the document is not a Yaml dictionary.
+     */
+    public YamlMap(InputStream inputStream, YamlStringPool pool) {
+        this();
+        Node node = new Yaml().compose(new UnicodeReader(inputStream));
+        if (YamlNodeReader.isEmpty(node)) { return; }
+        if (!(node instanceof MappingNode mapping)) {
+            throw new IllegalArgumentException("The Yaml document is not a dictionary.");
+        }
+        new YamlNodeReader(false, pool).readMap(mapping, this);
     }
 
     /**
@@ -36,6 +84,7 @@ public class YamlMap implements Map<String,YamlElement> {
      * @param map the Map.
      */
     public YamlMap(Map<String, Object> map) {
+        this();
         for (Entry<String, Object> entry : map.entrySet()) {
             try {
                 this.put(entry.getKey(), this.getElement_(entry.getValue()));
@@ -45,6 +94,154 @@ public class YamlMap implements Map<String,YamlElement> {
         }
     }
 
+    /**
+     * Creates a lazy YamlMap from an InputStream providing Yaml data. The document is parsed right away, but its values
+     * are only converted into YamlElements once they're accessed, through get(), gerFromPath(), entrySet() or any
+     * other method reading them. Converted values are kept, so each one is converted at most once.
+     *
+     * A lazy YamlMap behaves the same as one created with YamlMap(InputStream), except that entries whose value can't
+     * be represented are only dropped once they're accessed, and that reading it also modifies it, so it's not safe to
+     * read it from several threads at once.
+     *
+     * @param inputStream the InputStream to load.
+     * @return the YamlMap.
+     * @throws IllegalArgumentException if the document is not a Yaml dictionary.
+     */
+    public static YamlMap lazy(InputStream inputStream) {
+        return YamlMap.lazy(inputStream, null);
+    }
+
+    /**
+     * Creates a lazy YamlMap from an InputStream providing Yaml data, just like lazy(InputStream) does, but sharing a
+     * single instance of every key and short string scalar through a YamlStringPool. Values are pooled once they're
+     * converted, so the pool must stay usable for as long as the YamlMap is read.
+     *
+     * @param inputStream the InputStream to load.
+     * @param pool the pool to canonicalize Strings with, or null to not pool them.
+     * @return the YamlMap.
+     * @throws IllegalArgumentException if the document is not a Yaml dictionary.
+     */
+    public static YamlMap lazy(InputStream inputStream, YamlStringPool pool) {
+        Node node = new Yaml().compose(new UnicodeReader(inputStream));
+        if (YamlNodeReader.isEmpty(node)) { return new YamlMap(); }
+        if (!(node instanceof MappingNode mapping)) {
+            throw new IllegalArgumentException("The Yaml document is not a dictionary.");
+        }
+        return new YamlNodeReader(true, pool).readLazyMap(mapping);
+    }
+
+    /**
+     * Creates a lazy YamlMap out of a Map with String keys and Object values, which are only converted into
+     * YamlElements once they're accessed. The Map is copied, but its values are not.
+     * See lazy(InputStream) for how lazy YamlMaps behave.
+     *
+     * @param map the Map.
+     * @return the YamlMap.
+     */
+    public static YamlMap lazy(Map<String, Object> map) {
+        return new YamlMap(new LazyEntries(new HashMap<>(map), YamlMap::lazyElement_));
+    }
+
+    /**
+     * Lazily loads every document in a multi-document Yaml stream, each one as a YamlMap. A single parser is used for
+     * the whole stream, and each document is only read once the previous one has been consumed, so only one of them
+     * is held in memory at a time. Empty documents are skipped.
+     *
+     * The InputStream is not closed by this method nor by the returned Stream.
+     *
+     * @param inputStream the InputStream to load.
+     * @return a sequential Stream of the documents.
+     * @throws IllegalArgumentException while consuming the Stream, if a document is not a Yaml dictionary.
+     */
+    public static Stream<YamlMap> loadAll(InputStream inputStream) {
+        return YamlMap.loadAll(inputStream, null);
+    }
+
+    /**
+     * Lazily loads every document in a multi-document Yaml stream, just like loadAll(InputStream) does, but sharing a
+     * single instance of every key and short string scalar across all the documents through a YamlStringPool.
+     *
+     * @param inputStream the InputStream to load.
+     * @param pool the pool to canonicalize Strings with, or null to not pool them.
+     * @return a sequential Stream of the documents.
+     * @throws IllegalArgumentException while consuming the Stream, if a document is not a Yaml dictionary.
+     */
+    public static Stream<YamlMap> loadAll(InputStream inputStream, YamlStringPool pool) {
+        return YamlMap.documents_(new Yaml().composeAll(new UnicodeReader(inputStream)), pool);
+    }
+
+    /**
+     * Lazily loads every document in a multi-document Yaml stream, each one as a YamlMap. A single parser is used for
+     * the whole stream, and each document is only read once the previous one has been consumed, so only one of them
+     * is held in memory at a time. Empty documents are skipped.
+     *
+     * The Reader is not closed by this method nor by the returned Stream.
+     *
+     * @param reader the Reader to load.
+     * @return a sequential Stream of the documents.
+     * @throws IllegalArgumentException while consuming the Stream, if a document is not a Yaml dictionary.
+     */
+    public static Stream<YamlMap> loadAll(Reader reader) {
+        return YamlMap.loadAll(reader, null);
+    }
+
+    /**
+     * Lazily loads every document in a multi-document Yaml stream, just like loadAll(Reader) does, but sharing a
+     * single instance of every key and short string scalar across all the documents through a YamlStringPool.
+     *
+     * @param reader the Reader to load.
+     * @param pool the pool to canonicalize Strings with, or null to not pool them.
+     * @return a sequential Stream of the documents.
+     * @throws IllegalArgumentException while consuming the Stream, if a document is not a Yaml dictionary.
+     */
+    public static Stream<YamlMap> loadAll(Reader reader, YamlStringPool pool) {
+        return YamlMap.documents_(new Yaml().composeAll(reader), pool);
+    }
+
+    /**
+     * Enables or disables the flattened path index of this YamlMap. While enabled, an index from every full dotted path
+     * to its YamlElement is built on the first path lookup, so path lookups with gerFromPath(String) and get(YamlPath)
+     * become a single hash lookup. Keys containing dots are left out of the index, and so are their children.
+     *
+     * The index is dropped whenever this YamlMap or any YamlMap nested in it is modified through put, putInPath,
+     * remove, putAll or clear, and gets rebuilt on the next path lookup. Changes made through the keySet(),
+     * values() or entrySet() views are not tracked, call setIndexed(true) again after making them.
+     *
+     * @param indexed Whether the index should be enabled.
+     */
+    public void setIndexed(boolean indexed) {
+        this.indexed_ = indexed;
+        this.invalidateIndex_();
+    }
+
+    /**
+     * @return true if the flattened path index is enabled, false otherwise.
+     */
+    public boolean isIndexed() {
+        return this.indexed_;
+    }
+
+    /**
+     * Creates an immutable deep snapshot of this YamlMap. Nested maps are frozen as well, and nested lists are copied
+     * into unmodifiable ones. Frozen maps keep their entries in a compact open addressing table, sharing equal key
+     * instances across the whole snapshot, and can be read from any number of threads without locking.
+     *
+     * Every method that modifies a frozen map, including put and putInPath, throws UnsupportedOperationException.
+     * The flattened path index can still be enabled on it.
+     *
+     * @return the frozen snapshot. This YamlMap itself if it's already frozen.
+     */
+    public YamlMap freeze() {
+        return YamlMap.freeze_(this, new HashMap<>());
+    }
+
+    /**
+     * @return true if this YamlMap was created by freeze(), false otherwise.
+     */
+    public boolean isFrozen() {
+        return this.map_ instanceof FrozenEntries;
+    }
+
     @Override
     public int size() {
         return this.map_.size();
@@ -94,6 +291,39 @@ public class YamlMap implements Map<String,YamlElement> {
         return element;
     }
 
+    /**
+     * Gets the YamlElement linked to a YamlPath into the Map. If the path index is enabled and the full path exists,
+     * it's found with a single hash lookup.
+     *
+     * @param path The path to dive in.
+     * @return The YamlElement associated to the deepest found path key. Null if the top-level key doesn't exist.
+     */
+    public YamlElement get(YamlPath path) {
+        if (this.indexed_ && path.isIndexable()) {
+            YamlElement element = this.index_().get(path.toString());
+            if (element != null) { return element; }
+        }
+        return this.get(path.keys());
+    }
+
+    /**
+     * Gets the YamlElement found exactly at a path into the Map.
+     *
+     * @param path The keys that define the path to dive in.
+     * @return The YamlElement. Null if any key along the path doesn't exist, or leads to something other than a map.
+     */
+    YamlElement find(String... path) {
+        YamlMap map = this;
+        YamlElement element = null;
+        for (String s : path) {
+            if (map == null) { return null; }
+            element = map.get(s);
+            if (element == null) { return null; }
+            map = element.get(YamlElementType.MAP);
+        }
+        return element;
+    }
+
     /**
      * Gets the YamlElement linked to a Sting path into the Map.
      *
@@ -101,6 +331,10 @@ public class YamlMap implements Map<String,YamlElement> {
      * @return The YamlElement associated to the deepest found path key. Null if the top-level key doesn't exist.
      */
     public YamlElement gerFromPath(String path) {
+        if (this.indexed_) {
+            YamlElement element = this.index_().get(path);
+            if (element != null) { return element; }
+        }
         String[] keys = StringUtils.split(path,'.');
         return this.get(keys);
     }
@@ -123,9 +357,26 @@ public class YamlMap implements Map<String,YamlElement> {
         return element.getListOf(type);
     }
 
+    /**
+     * Gets a read-only view of the sub-Yaml elements contained in a String key, as the Java class represented by the
+     * specified Yaml type. Unlike getListOf, the list is not copied, and each element is only checked when it's read.
+     * See YamlListView.
+     *
+     * @param key The String key to look for to get the list.
+     * @param type The type to read the elements in the list as.
+     * @return The view, null if no element under the specified key exists.
+     * @throws ClassCastException If the element queried is not a list.
+     */
+    public <T> YamlListView<T> getListView(String key, YamlElementType<T> type) throws ClassCastException {
+        YamlElement element = this.map_.get(key);
+        return (element == null) ? null : element.listView(type);
+    }
+
     @Override
     public YamlElement put(String key, YamlElement value) {
-        return this.map_.put(key,value);
+        YamlElement previous = this.map_.put(key,value);
+        this.modified_();
+        return previous;
     }
 
     public YamlElement putInPath(String key, YamlElement value) {
@@ -133,42 +384,72 @@ public class YamlMap implements Map<String,YamlElement> {
     }
 
     public YamlElement putInPath(String[] keys, YamlElement value) {
-        String myKey = keys[0];
+        return this.putInPath_(keys, 0, value);
+    }
 
-        if(myKey.isEmpty()) {
-            throw new IllegalArgumentException("The 'key' parameter cannot be an empty string.");
-        }
+    public YamlElement putInPath(YamlPath path, YamlElement value) {
+        return this.putInPath_(path.keys(), 0, value);
+    }
 
-        if (keys.length < 2) {
-            return this.put(myKey, value);
-        }
+    @Override
+    public YamlElement remove(Object key) {
+        YamlElement previous = this.map_.remove(key);
+        this.modified_();
+        return previous;
+    }
 
-        if (!this.containsKey(myKey)) {
-            this.put(myKey, new YamlElement(new YamlMap()));
-        }
+    @Override
+    public YamlElement putIfAbsent(String key, YamlElement value) {
+        YamlElement previous = this.map_.putIfAbsent(key, value);
+        this.modified_();
+        return previous;
+    }
 
-        YamlElement element = this.get(myKey);
+    @Override
+    public YamlElement computeIfAbsent(String key, Function<? super String, ? extends YamlElement> mappingFunction) {
+        YamlElement element = this.map_.computeIfAbsent(key, mappingFunction);
+        this.modified_();
+        return element;
+    }
 
-        if (!element.is(YamlElementType.MAP)) {
-            throw new KeyAlreadyExistsException("Element in property '" + myKey + "' is not a map. Can't access sub-property: '" + keys[1] + "'.");
-        }
+    @Override
+    public YamlElement compute(String key, BiFunction<? super String, ? super YamlElement, ? extends YamlElement> remappingFunction) {
+        YamlElement element = this.map_.compute(key, remappingFunction);
+        this.modified_();
+        return element;
+    }
 
-        return element.get(YamlElementType.MAP).putInPath(Arrays.copyOfRange(keys,1,keys.length),value);
+    @Override
+    public YamlElement replace(String key, YamlElement value) {
+        YamlElement previous = this.map_.replace(key, value);
+        this.modified_();
+        return previous;
     }
 
     @Override
-    public YamlElement remove(Object key) {
-        return this.map_.remove(key);
+    public boolean replace(String key, YamlElement oldValue, YamlElement newValue) {
+        boolean replaced = this.map_.replace(key, oldValue, newValue);
+        this.modified_();
+        return replaced;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        boolean removed = this.map_.remove(key, value);
+        this.modified_();
+        return removed;
     }
 
     @Override
     public void putAll(Map<? extends String, ? extends YamlElement> m) {
         this.map_.putAll(m);
+        this.modified_();
     }
 
     @Override
     public void clear() {
         this.map_.clear();
+        this.modified_();
     }
 
     @Override
@@ -186,6 +467,165 @@ public class YamlMap implements Map<String,YamlElement> {
         return this.map_.entrySet();
     }
 
+    /**
+     * Creates an empty YamlMap of the same kind as this one. It's used by putInPath to create the maps for the keys
+     * missing along the path.
+     *
+     * @return the new YamlMap.
+     */
+    protected YamlMap newChild() {
+        return new YamlMap();
+    }
+
+    private YamlElement putInPath_(String[] keys, int from, YamlElement value) {
+        String myKey = keys[from];
+
+        if(myKey.isEmpty()) {
+            throw new IllegalArgumentException("The 'key' parameter cannot be an empty string.");
+        }
+
+        if (from == keys.length - 1) {
+            return this.put(myKey, value);
+        }
+
+        YamlElement element = this.get(myKey);
+        if (element == null) {
+            element = this.map_.computeIfAbsent(myKey, k -> new YamlElement(this.newChild()));
+            this.modified_();
+        }
+
+        if (!element.is(YamlElementType.MAP)) {
+            throw new KeyAlreadyExistsException("Element in property '" + myKey + "' is not a map. Can't access sub-property: '" + keys[from + 1] + "'.");
+        }
+
+        return element.get(YamlElementType.MAP).putInPath_(keys, from + 1, value);
+    }
+
+    private static YamlMap freeze_(YamlMap map, HashMap<String,String> keys) {
+        if (map.isFrozen()) { return map; }
+        return new YamlMap(new FrozenEntries(map, element -> YamlMap.freeze_(element, keys), keys));
+    }
+
+    private static YamlElement freeze_(YamlElement element, HashMap<String,String> keys) {
+        switch (element.getKind()) {
+            case MAP: {
+                YamlMap map = element.get(YamlElementType.MAP);
+                YamlMap frozen = YamlMap.freeze_(map, keys);
+                return (frozen == map) ? element : new YamlElement(frozen);
+            }
+            case LIST: {
+                if (!(element.get() instanceof List<?> list)) { return element; }
+                YamlElement[] frozen = new YamlElement[list.size()];
+                for (int i = 0; i < frozen.length; i++) {
+                    frozen[i] = YamlMap.freeze_((YamlElement) list.get(i), keys);
+                }
+                return new YamlElement(Collections.unmodifiableList(Arrays.asList(frozen)));
+            }
+            default:
+                return element;
+        }
+    }
+
+    private HashMap<String,YamlElement> index_() {
+        HashMap<String,YamlElement> index = this.index_;
+        if (index != null) { return index; }
+        synchronized (this) {
+            if (this.index_ != null) { return this.index_; }
+            int version = this.indexVersion_;
+            index = new HashMap<>();
+            this.flatten_(this, null, index);
+            //Only publish the index if nothing changed while it was being built, it might be missing the change otherwise.
+            if (this.indexVersion_ == version) { this.index_ = index; }
+            return index;
+        }
+    }
+
+    private void flatten_(YamlMap map, String prefix, HashMap<String,YamlElement> index) {
+        //Immutable maps never change, so there's nothing to invalidate the index for. Registering owners on them would
+        //only keep every root that indexed them alive.
+        if (map != this && !(map.map_ instanceof FrozenEntries || map.map_ instanceof PersistentEntries)) {
+            synchronized (map) {
+                map.addIndexOwner_(this);
+            }
+        }
+        for (Entry<String,YamlElement> entry : map.entrySet()) {
+            String key = entry.getKey();
+            if (key.isEmpty() || key.indexOf('.') >= 0) { continue; }
+            String path = (prefix == null) ? key : prefix + "." + key;
+            index.put(path, entry.getValue());
+            YamlMap child = entry.getValue().get(YamlElementType.MAP);
+            if (child != null) { this.flatten_(child, path, index); }
+        }
+    }
+
+    private void modified_() {
+        if (this.indexed_) { this.invalidateIndex_(); }
+        if (this.indexOwners_ == null) { return; }
+        List<WeakReference<YamlMap>> owners;
+        synchronized (this) {
+            owners = this.indexOwners_;
+            this.indexOwners_ = null;
+        }
+        if (owners == null) { return; }
+        //Owners are invalidated without holding this map's monitor, as owners building their index lock them the other way around.
+        for (WeakReference<YamlMap> reference : owners) {
+            YamlMap owner = reference.get();
+            if (owner != null) { owner.invalidateIndex_(); }
+        }
+    }
+
+    //Owners are held weakly, so a subtree shared into a longer lived tree doesn't keep every root that indexed it alive.
+    private void addIndexOwner_(YamlMap owner) {
+        if (this.indexOwners_ == null) { this.indexOwners_ = new ArrayList<>(1); }
+        Iterator<WeakReference<YamlMap>> iterator = this.indexOwners_.iterator();
+        while (iterator.hasNext()) {
+            YamlMap registered = iterator.next().get();
+            if (registered == owner) { return; }
+            if (registered == null) { iterator.remove(); }
+        }
+        this.indexOwners_.add(new WeakReference<>(owner));
+    }
+
+    //Under the same monitor index_() publishes with, so an index can't be published after being invalidated.
+    private synchronized void invalidateIndex_() {
+        this.indexVersion_++;
+        this.index_ = null;
+    }
+
+    private static Stream<YamlMap> documents_(Iterable<Node> iterable, YamlStringPool pool) {
+        Iterator<Node> documents = iterable.iterator();
+        YamlNodeReader reader = new YamlNodeReader(false, pool);
+        Iterator<YamlMap> maps = new Iterator<>() {
+            private int index_ = 0;
+            private Node next_ = null;
+
+            @Override
+            public boolean hasNext() {
+                while (this.next_ == null && documents.hasNext()) {
+                    Node document = documents.next();
+                    this.index_++;
+                    if (!YamlNodeReader.isEmpty(document)) { this.next_ = document; }
+                }
+                return this.next_ != null;
+            }
+
+            @Override
+            public YamlMap next() {
+                if (!this.hasNext()) { throw new NoSuchElementException(); }
+                Node document = this.next_;
+                this.next_ = null;
+                if (!(document instanceof MappingNode mapping)) {
+                    throw new IllegalArgumentException("Document " + this.index_ + " is not a Yaml dictionary.");
+                }
+                return reader.readMap(mapping, new YamlMap());
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(maps, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        );
+    }
+
     private List<YamlElement> createYamlList_(YamlElement element) {
         if (!element.is(YamlElementType.LIST)) {
             throw new IllegalArgumentException("Not a list");
@@ -201,7 +641,7 @@ public class YamlMap implements Map<String,YamlElement> {
     }
 
     private YamlElement getElement_(Object object) {
-        YamlElement element = new YamlElement(object);
+        YamlElement element = YamlElement.of(object);
         if (element.is(YamlElementType.LIST)) {
             element = new YamlElement(this.createYamlList_(element));
         } else if (element.is(YamlElementType.MAP)) {
@@ -210,6 +650,21 @@ public class YamlMap implements Map<String,YamlElement> {
         return element;
     }
 
+    private static YamlElement lazyElement_(Object object) {
+        if (object instanceof Map<?, ?> map) {
+            return new YamlElement(YamlMap.lazy((Map<String, Object>) map));
+        }
+        if (object instanceof List<?> list) {
+            List<YamlElement> r = new ArrayList<>(list.size());
+            for (Object o : list) {
+                r.add(YamlMap.lazyElement_(o));
+            }
+            return new YamlElement(r);
+        }
+        if (object == null) { throw new IllegalArgumentException("Null is not YAML type assignable."); }
+        return YamlElement.of(object);
+    }
+
     @Override
     public String toString() {
         return this.map_.toString();
@@ -0,0 +1,158 @@
+package com.jkantrell.yamlizer.yaml;
+
+import org.apache.commons.lang3.StringUtils;
+import javax.management.openmbean.KeyAlreadyExistsException;
+import java.util.*;
+
+/**
+ * Builds a YamlMap out of many (path, value) pairs at once, which is much cheaper than calling putInPath for each of
+ * them. Consecutive paths sharing a prefix reuse the maps the previous path went through, the way a trie would, so
+ * the shared keys are not looked up again. Each nested YamlMap is created once, sized for the keys the following
+ * paths sharing its prefix are going to put in it.
+ *
+ * Values are written in the order they were added, with the same semantics as putInPath, except that conflicts,
+ * where a path needs to go through an element that is not a map, don't stop the build. They're all collected, and
+ * reported together once it's done.
+ */
+public final class YamlMapBuilder {
+
+    //CONSTANTS
+    private static final int MAX_PRESIZE = 1 << 12;
+
+    //FIELDS
+    private final ArrayList<Entry> entries_ = new ArrayList<>();
+    private int maxDepth_ = 0;
+
+    //METHODS
+    /**
+     * Adds a value to write at a given path. If the same path is added more than once, the last value wins.
+     *
+     * @param path The path, elements separated by '.'.
+     * @param value The value.
+     * @return This builder.
+     * @throws IllegalArgumentException if the path is empty.
+     */
+    public YamlMapBuilder put(String path, YamlElement value) {
+        return this.put_(StringUtils.split(path, '.'), value);
+    }
+
+    /**
+     * Adds a value to write at a given path. If the same path is added more than once, the last value wins.
+     *
+     * @param path The path.
+     * @param value The value.
+     * @return This builder.
+     * @throws IllegalArgumentException if the path is empty.
+     */
+    public YamlMapBuilder put(YamlPath path, YamlElement value) {
+        return this.put_(path.keys(), value);
+    }
+
+    /**
+     * @return The number of values added so far.
+     */
+    public int size() {
+        return this.entries_.size();
+    }
+
+    /**
+     * Builds a new YamlMap holding every value added so far. The builder can keep being used afterwards.
+     *
+     * If a value is a YamlMap and later values are written under its path, they're written into a copy of it, so
+     * YamlMaps passed as values are never modified.
+     *
+     * @return The YamlMap.
+     * @throws KeyAlreadyExistsException if there are conflicting paths, listing all of them.
+     */
+    public YamlMap build() throws KeyAlreadyExistsException {
+        Entry[] entries = this.entries_.toArray(new Entry[0]);
+        Set<YamlMap> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<String> conflicts = new ArrayList<>();
+
+        //chain[i] is the map holding keys[i] of the previous path. Only the first 'valid' + 1 of them can be reused.
+        YamlMap[] chain = new YamlMap[Math.max(1, this.maxDepth_)];
+        chain[0] = new YamlMap(YamlMapBuilder.presize_(entries, 0, 0));
+        created.add(chain[0]);
+        int valid = 0;
+        String[] previous = null;
+
+        for (int e = 0; e < entries.length; e++) {
+            String[] keys = entries[e].keys;
+            int depth = 0;
+            if (previous != null) {
+                int shared = Math.min(keys.length, previous.length) - 1;
+                while (depth < shared && depth < valid && keys[depth].equals(previous[depth])) { depth++; }
+            }
+
+            YamlMap map = chain[depth];
+            for (; depth < keys.length - 1; depth++) {
+                YamlElement element = map.get(keys[depth]);
+                YamlMap child = (element == null) ? null : element.get(YamlElementType.MAP);
+                if (element != null && child == null) {
+                    conflicts.add(
+                            "'" + String.join(".", Arrays.asList(keys).subList(0, depth + 1)) + "' is " + element.getKind() +
+                            ", so '" + String.join(".", keys) + "' can't be written."
+                    );
+                    break;
+                }
+                if (child == null || !created.contains(child)) {
+                    YamlMap copy = new YamlMap(YamlMapBuilder.presize_(entries, e, depth + 1) + ((child == null) ? 0 : child.size()));
+                    if (child != null) { copy.putAll(child); }
+                    created.add(copy);
+                    map.put(keys[depth], new YamlElement(copy));
+                    child = copy;
+                }
+                map = child;
+                chain[depth + 1] = child;
+            }
+            if (depth == keys.length - 1) {
+                map.put(keys[depth], entries[e].value);
+            }
+            valid = depth;
+            previous = keys;
+        }
+
+        if (!conflicts.isEmpty()) {
+            throw new KeyAlreadyExistsException(
+                    "Unable to build the YamlMap, " + conflicts.size() + " path(s) conflict: " + String.join(" ", conflicts)
+            );
+        }
+        return chain[0];
+    }
+
+    //PRIVATE METHODS
+    private YamlMapBuilder put_(String[] keys, YamlElement value) {
+        if (keys.length == 0) { throw new IllegalArgumentException("The path cannot be empty."); }
+        this.entries_.add(new Entry(keys, value));
+        this.maxDepth_ = Math.max(this.maxDepth_, keys.length);
+        return this;
+    }
+
+    /**
+     * Estimates how many keys the map at a given depth of an entry's path will hold, by counting how many times the key
+     * at that depth changes along the run of entries sharing the path up to it. It's exact when the entries are grouped
+     * by prefix, and is capped, so it can't get far off when they're not.
+     */
+    private static int presize_(Entry[] entries, int from, int depth) {
+        String[] keys = entries[from].keys;
+        int count = 0;
+        String last = null;
+        for (int i = from; i < entries.length && count < YamlMapBuilder.MAX_PRESIZE; i++) {
+            String[] other = entries[i].keys;
+            if (other.length <= depth) { break; }
+            boolean shared = true;
+            for (int k = depth - 1; k >= 0 && shared; k--) {
+                shared = other[k].equals(keys[k]);
+            }
+            if (!shared) { break; }
+            if (!other[depth].equals(last)) {
+                count++;
+                last = other[depth];
+            }
+        }
+        return count;
+    }
+
+    //CLASSES
+    private record Entry(String[] keys, YamlElement value) {}
+}
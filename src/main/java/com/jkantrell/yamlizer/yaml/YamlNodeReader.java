@@ -0,0 +1,165 @@
+package com.jkantrell.yamlizer.yaml;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Builds YamlMaps and YamlElements straight out of the node graph composed by SnakeYAML, so the intermediate
+ * Map<String, Object> tree SnakeYAML would otherwise construct is never created. Scalars are resolved by SnakeYAML's
+ * own safe constructors and merge keys are flattened the same way SnakeYAML does, so the result is the same.
+ *
+ * A lazy reader builds YamlMaps that keep the nodes of their values, and only read each one once it's accessed.
+ *
+ * A reader can be given a YamlStringPool to canonicalize keys and short string scalars with.
+ *
+ * A reader keeps no state between documents, but it's not thread safe.
+ */
+final class YamlNodeReader extends SafeConstructor {
+
+    //CONSTANTS
+    private final static Logger LOGGER = LoggerFactory.getLogger(YamlMap.class);
+    private final static Resolver RESOLVER = new Resolver();
+    //Only used to construct scalars, which keeps no state, so it's safe to share.
+    private final static YamlNodeReader SCALARS = new YamlNodeReader(false);
+
+    //FIELDS
+    private final boolean lazy_;
+    private final YamlStringPool pool_;
+
+    //CONSTRUCTORS
+    /**
+     * @param lazy Whether the YamlMaps read should be lazy.
+     */
+    YamlNodeReader(boolean lazy) {
+        this(lazy, null);
+    }
+
+    /**
+     * @param lazy Whether the YamlMaps read should be lazy.
+     * @param pool The pool to canonicalize keys and string scalars with, or null to not pool them.
+     */
+    YamlNodeReader(boolean lazy, YamlStringPool pool) {
+        this.lazy_ = lazy;
+        this.pool_ = pool;
+    }
+
+    //METHODS
+    /**
+     * Checks whether a document node is empty, which is how SnakeYAML composes documents with no content.
+     *
+     * @param node The document node.
+     * @return true if the node is null or a null scalar, false otherwise.
+     */
+    static boolean isEmpty(Node node) {
+        return node == null || (node instanceof ScalarNode && Tag.NULL.equals(node.getTag()));
+    }
+
+    /**
+     * Reads a map key as the scalar it would have been if it weren't a key, since YamlMaps keep every key as a String.
+     * Keys that resolve to null, or to a scalar YamlElements can't hold, are read as strings.
+     *
+     * @param key The key.
+     * @return The YamlElement the key resolves to.
+     */
+    static YamlElement key(String key) {
+        Tag tag = YamlNodeReader.RESOLVER.resolve(NodeId.scalar, key, true);
+        if (Tag.STR.equals(tag) || Tag.NULL.equals(tag)) { return new YamlElement(key); }
+        try {
+            Node node = new ScalarNode(tag, key, null, null, DumperOptions.ScalarStyle.PLAIN);
+            return YamlElement.of(YamlNodeReader.SCALARS.getConstructor(node).construct(node));
+        } catch (RuntimeException ex) {
+            return new YamlElement(key);
+        }
+    }
+
+    /**
+     * Reads the entries of a mapping node into a YamlMap. Entries whose value can't be represented as a YamlElement are
+     * skipped with a warning, the same way YamlMap(Map) does.
+     *
+     * @param node The mapping node.
+     * @param into The YamlMap to read into.
+     * @return The YamlMap read into.
+     */
+    YamlMap readMap(MappingNode node, YamlMap into) {
+        if (node.isMerged()) { this.flattenMapping(node); }
+        for (NodeTuple tuple : node.getValue()) {
+            if (!(tuple.getKeyNode() instanceof ScalarNode keyNode)) {
+                YamlNodeReader.LOGGER.warn("Unable to load a {} key, only scalar keys are supported", tuple.getKeyNode().getNodeId());
+                continue;
+            }
+            String key = this.key_(keyNode);
+            try {
+                into.put(key, this.read(tuple.getValueNode()));
+            } catch (IllegalArgumentException ex) {
+                YamlNodeReader.LOGGER.warn("Unable to load {}, as it doesn't represent a YAML primitive data type", key);
+            }
+        }
+        return into;
+    }
+
+    /**
+     * Reads a mapping node as a lazy YamlMap, which keeps the value nodes and reads each one once it's accessed.
+     *
+     * @param node The mapping node.
+     * @return The YamlMap.
+     */
+    YamlMap readLazyMap(MappingNode node) {
+        if (node.isMerged()) { this.flattenMapping(node); }
+        List<NodeTuple> tuples = node.getValue();
+        HashMap<String, Object> entries = new HashMap<>((int) (tuples.size() / 0.75f) + 1);
+        for (NodeTuple tuple : tuples) {
+            if (!(tuple.getKeyNode() instanceof ScalarNode keyNode)) {
+                YamlNodeReader.LOGGER.warn("Unable to load a {} key, only scalar keys are supported", tuple.getKeyNode().getNodeId());
+                continue;
+            }
+            entries.put(this.key_(keyNode), tuple.getValueNode());
+        }
+        return new YamlMap(new LazyEntries(entries, value -> this.read((Node) value)));
+    }
+
+    /**
+     * Reads a node and all of its children as a YamlElement. If this reader is lazy, nested maps are read lazily.
+     *
+     * @param node The node.
+     * @return The YamlElement.
+     * @throws IllegalArgumentException if the node, or any of its list elements, can't be represented as a YamlElement.
+     */
+    YamlElement read(Node node) {
+        if (node instanceof MappingNode mapping) {
+            return new YamlElement((this.lazy_) ? this.readLazyMap(mapping) : this.readMap(mapping, new YamlMap()));
+        }
+        if (node instanceof SequenceNode sequence) {
+            List<Node> nodes = sequence.getValue();
+            List<YamlElement> list = new ArrayList<>(nodes.size());
+            for (int i = 0; i < nodes.size(); i++) {
+                list.add(this.read(nodes.get(i)));
+            }
+            return new YamlElement(list);
+        }
+        if (this.pool_ != null && node instanceof ScalarNode scalar && Tag.STR.equals(scalar.getTag())) {
+            return this.pool_.element(scalar.getValue());
+        }
+        //Scalars are constructed directly, skipping the per-node bookkeeping constructObject keeps for recursive collections.
+        Object value = this.getConstructor(node).construct(node);
+        if (value == null) { throw new IllegalArgumentException("Null is not YAML type assignable."); }
+        return YamlElement.of(value);
+    }
+
+    //PRIVATE METHODS
+    private String key_(ScalarNode node) {
+        return (this.pool_ == null) ? node.getValue() : this.pool_.intern(node.getValue());
+    }
+}
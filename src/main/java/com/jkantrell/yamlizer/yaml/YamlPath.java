@@ -0,0 +1,108 @@
+package com.jkantrell.yamlizer.yaml;
+
+import org.apache.commons.lang3.StringUtils;
+import java.util.Arrays;
+
+/**
+ * A path into a YamlMap, parsed once so it can be looked up any number of times without splitting or allocating.
+ * YamlPaths are immutable, and meant to be kept in constants by code that keeps reading the same paths.
+ */
+public final class YamlPath {
+
+    //FIELDS
+    private final String[] keys_;
+    private final String path_;
+    private final boolean indexable_;
+    private final int hash_;
+
+    //CONSTRUCTORS
+    private YamlPath(String[] keys) {
+        boolean indexable = true;
+        for (String key : keys) {
+            if (key.isEmpty()) { throw new IllegalArgumentException("Yaml path keys cannot be empty strings."); }
+            if (key.indexOf('.') >= 0) { indexable = false; }
+        }
+        this.keys_ = keys;
+        this.path_ = String.join(".", keys);
+        this.indexable_ = indexable;
+        this.hash_ = Arrays.hashCode(keys);
+    }
+
+    /**
+     * Parses a YamlPath out of a String, the same way YamlMap.gerFromPath does.
+     *
+     * @param path The path, elements separated by '.'.
+     * @return The YamlPath.
+     */
+    public static YamlPath of(String path) {
+        return new YamlPath(StringUtils.split(path, '.'));
+    }
+
+    /**
+     * Creates a YamlPath out of its keys. Unlike with of(String), keys may contain dots.
+     *
+     * @param keys The keys.
+     * @return The YamlPath.
+     * @throws IllegalArgumentException if any of the keys is an empty string.
+     */
+    public static YamlPath of(String... keys) {
+        return new YamlPath(keys.clone());
+    }
+
+    //GETTERS
+    /**
+     * @return The number of keys in this path.
+     */
+    public int getDepth() {
+        return this.keys_.length;
+    }
+
+    /**
+     * Gets the key at a given depth of this path.
+     *
+     * @param index The depth, starting at 0.
+     * @return The key.
+     */
+    public String getKey(int index) {
+        return this.keys_[index];
+    }
+
+    /**
+     * @return A copy of the keys of this path.
+     */
+    public String[] getKeys() {
+        return this.keys_.clone();
+    }
+
+    String[] keys() {
+        return this.keys_;
+    }
+
+    /**
+     * @return true if none of the keys contain a dot, so the path can be looked up in a YamlMap's flattened index.
+     */
+    boolean isIndexable() {
+        return this.indexable_;
+    }
+
+    //METHODS
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) { return true; }
+        if (!(object instanceof YamlPath other)) { return false; }
+        return this.hash_ == other.hash_ && Arrays.equals(this.keys_, other.keys_);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash_;
+    }
+
+    /**
+     * @return The path, elements separated by '.'.
+     */
+    @Override
+    public String toString() {
+        return this.path_;
+    }
+}
@@ -0,0 +1,21 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.lang.reflect.Type;
+
+/**
+ * Functional interface to define the serialization process of an object of a given type, the counterpart of
+ * YamlDeserializer.
+ */
+@FunctionalInterface
+public interface YamlSerializer<T> {
+
+    /**
+     * Serializes the object by writing it into a YamlWriter, as a single value.
+     *
+     * @param src The object to serialize.
+     * @param objectType The type of the object to serialize.
+     * @param writer The YamlWriter to write the object into.
+     */
+    void serialize(T src, Type objectType, YamlWriter writer);
+
+}
@@ -0,0 +1,105 @@
+package com.jkantrell.yamlizer.yaml;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of canonical Strings, used while reading Yaml documents to share a single instance of every key, and of
+ * every short string scalar, across the YamlMaps read. Documents repeating the same keys and values across many list
+ * entries end up holding one String, and one YamlElement, per distinct value instead of one per occurrence.
+ *
+ * A pool can be scoped to a single parse, or shared across many loads so documents read with it share their Strings
+ * too. It's thread safe, so it can be shared by loads running at the same time. To keep a shared pool from growing
+ * without limit, once it holds a given number of Strings new ones are no longer added, and are just returned as they
+ * are.
+ *
+ * Pooling only changes which instances the YamlMaps hold, the maps and elements read are equal to the ones read
+ * without it.
+ */
+public final class YamlStringPool {
+
+    //CONSTANTS
+    public static final int DEFAULT_MAX_LENGTH = 32;
+    public static final int DEFAULT_MAX_SIZE = 1 << 16;
+
+    //FIELDS
+    private final ConcurrentHashMap<String, String> strings_ = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, YamlElement> elements_ = new ConcurrentHashMap<>();
+    private final int maxLength_;
+    private final int maxSize_;
+
+    //CONSTRUCTORS
+    /**
+     * Creates a pool for scalars up to DEFAULT_MAX_LENGTH characters long, holding up to DEFAULT_MAX_SIZE Strings.
+     */
+    public YamlStringPool() {
+        this(YamlStringPool.DEFAULT_MAX_LENGTH, YamlStringPool.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxLength The maximum length of the string scalars to pool. Keys are pooled regardless of their length.
+     * @param maxSize The maximum number of distinct Strings to pool.
+     */
+    public YamlStringPool(int maxLength, int maxSize) {
+        if (maxLength < 0 || maxSize < 0) {
+            throw new IllegalArgumentException("The maximum length and size of a YamlStringPool cannot be negative.");
+        }
+        this.maxLength_ = maxLength;
+        this.maxSize_ = maxSize;
+    }
+
+    //GETTERS
+    public int getMaxLength() {
+        return this.maxLength_;
+    }
+
+    public int getMaxSize() {
+        return this.maxSize_;
+    }
+
+    /**
+     * @return The number of distinct Strings in the pool.
+     */
+    public int size() {
+        return this.strings_.size();
+    }
+
+    //METHODS
+    /**
+     * Gets the canonical instance of a String, adding it to the pool if it's not there yet and the pool is not full.
+     *
+     * @param string The String.
+     * @return The pooled String equal to the given one, or the String itself if it's not pooled.
+     */
+    public String intern(String string) {
+        String pooled = this.strings_.get(string);
+        if (pooled != null) { return pooled; }
+        if (this.strings_.size() >= this.maxSize_) { return string; }
+        pooled = this.strings_.putIfAbsent(string, string);
+        return (pooled == null) ? string : pooled;
+    }
+
+    /**
+     * Gets a YamlElement holding a string scalar. Scalars no longer than the maximum length share a single
+     * YamlElement per distinct value, holding the canonical instance of the String.
+     *
+     * @param string The string scalar.
+     * @return The YamlElement.
+     */
+    public YamlElement element(String string) {
+        if (string.length() > this.maxLength_) { return new YamlElement(string); }
+        YamlElement element = this.elements_.get(string);
+        if (element != null) { return element; }
+        String pooled = this.intern(string);
+        //Only Strings in the pool get a shared element, so there's never more elements than Strings.
+        if (!this.strings_.containsKey(pooled)) { return new YamlElement(string); }
+        return this.elements_.computeIfAbsent(pooled, YamlElement::new);
+    }
+
+    /**
+     * Removes every String and YamlElement from the pool. YamlMaps already read keep the instances they hold.
+     */
+    public void clear() {
+        this.strings_.clear();
+        this.elements_.clear();
+    }
+}
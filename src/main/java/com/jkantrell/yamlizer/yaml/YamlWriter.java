@@ -0,0 +1,289 @@
+package com.jkantrell.yamlizer.yaml;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.*;
+import org.yaml.snakeyaml.resolver.Resolver;
+import java.io.*;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Writes Yaml straight into a Writer, by emitting SnakeYAML events as values are written, so no intermediate Map or
+ * node tree is ever built. Only the few events SnakeYAML's emitter needs to look ahead are held in memory, so
+ * documents of any size can be written in bounded memory.
+ *
+ * Maps are written by calling startMap(), then key() followed by a value for each entry, and endMap(). Lists are
+ * written the same way, without the keys. Scalars are written with value(), which also writes any other object
+ * through the serializers of the Yamlizer that created this writer. Every value written at the top level is its own
+ * document.
+ *
+ * A YamlWriter is not thread safe. Problems writing to the underlying Writer are thrown as UncheckedIOExceptions.
+ */
+public final class YamlWriter implements Closeable, Flushable {
+
+    //CONSTANTS
+    private static final Resolver RESOLVER = new Resolver();
+
+    //FIELDS
+    private final Writer writer_;
+    private final Emitter emitter_;
+    private final Yamlizer yamlizer_;
+    private int depth_ = 0;
+    private boolean documentOpen_ = false;
+    private boolean finished_ = false;
+
+    //CONSTRUCTORS
+    /**
+     * @param writer The Writer to write into. It should be buffered, as the emitter writes small chunks at a time.
+     * @param yamlizer The Yamlizer to serialize objects with.
+     * @param options The options to emit with.
+     */
+    YamlWriter(Writer writer, Yamlizer yamlizer, DumperOptions options) {
+        this.writer_ = writer;
+        this.emitter_ = new Emitter(writer, options);
+        this.yamlizer_ = yamlizer;
+        this.emit_(new StreamStartEvent(null, null));
+    }
+
+    //METHODS
+    /**
+     * Starts a map. Its entries are written with key() followed by a value, until endMap() is called.
+     *
+     * @return This writer.
+     */
+    public YamlWriter startMap() {
+        this.open_();
+        this.emit_(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+        this.depth_++;
+        return this;
+    }
+
+    /**
+     * Ends the map started last.
+     *
+     * @return This writer.
+     */
+    public YamlWriter endMap() {
+        this.close_();
+        this.emit_(new MappingEndEvent(null, null));
+        return this;
+    }
+
+    /**
+     * Starts a list. Its elements are written as values, until endList() is called.
+     *
+     * @return This writer.
+     */
+    public YamlWriter startList() {
+        this.open_();
+        this.emit_(new SequenceStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+        this.depth_++;
+        return this;
+    }
+
+    /**
+     * Ends the list started last.
+     *
+     * @return This writer.
+     */
+    public YamlWriter endList() {
+        this.close_();
+        this.emit_(new SequenceEndEvent(null, null));
+        return this;
+    }
+
+    /**
+     * Writes the key of the next entry of the map being written.
+     *
+     * @param key The key.
+     * @return This writer.
+     * @throws IllegalStateException if no map is being written.
+     */
+    public YamlWriter key(String key) {
+        if (this.depth_ == 0) { throw new IllegalStateException("Keys can only be written inside a map."); }
+        return this.scalar_(Tag.STR, key);
+    }
+
+    public YamlWriter nullValue() {
+        return this.scalar_(Tag.NULL, "null");
+    }
+
+    public YamlWriter value(String value) {
+        return (value == null) ? this.nullValue() : this.scalar_(Tag.STR, value);
+    }
+
+    public YamlWriter value(long value) {
+        return this.scalar_(Tag.INT, Long.toString(value));
+    }
+
+    public YamlWriter value(BigInteger value) {
+        return (value == null) ? this.nullValue() : this.scalar_(Tag.INT, value.toString());
+    }
+
+    public YamlWriter value(double value) {
+        String text;
+        if (Double.isNaN(value)) {
+            text = ".NaN";
+        } else if (Double.isInfinite(value)) {
+            text = (value > 0) ? ".inf" : "-.inf";
+        } else {
+            text = Double.toString(value);
+        }
+        return this.scalar_(Tag.FLOAT, text);
+    }
+
+    public YamlWriter value(boolean value) {
+        return this.scalar_(Tag.BOOL, Boolean.toString(value));
+    }
+
+    /**
+     * Writes any object, through the serializer its class resolves to in the Yamlizer that created this writer.
+     *
+     * @param value The object. Null is written as a null scalar.
+     * @return This writer.
+     * @throws IllegalArgumentException if no serializer applies to the object's class.
+     */
+    public YamlWriter value(Object value) {
+        this.yamlizer_.serialize(value, this);
+        return this;
+    }
+
+    /**
+     * Writes a node tree composed by SnakeYAML back as it was read, keeping its tags, scalar styles and flow styles.
+     * Aliases are written as copies of the nodes they refer to.
+     *
+     * @param node The node.
+     * @return This writer.
+     * @throws IllegalArgumentException if the node contains itself through an alias.
+     */
+    YamlWriter node(Node node) {
+        this.node_(node, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return this;
+    }
+
+    /**
+     * Ends the current document, if any. The next value written starts a new one.
+     *
+     * @return This writer.
+     * @throws IllegalStateException if a map or list is still being written.
+     */
+    public YamlWriter endDocument() {
+        if (this.depth_ > 0) { throw new IllegalStateException("Unable to end the document, a map or list is still open."); }
+        if (this.documentOpen_) {
+            this.emit_(new DocumentEndEvent(null, null, false));
+            this.documentOpen_ = false;
+        }
+        return this;
+    }
+
+    /**
+     * Flushes the Writer. Some of the last events written might still be held by the emitter until the events
+     * following them are written.
+     */
+    @Override
+    public void flush() {
+        try {
+            this.writer_.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Ends the Yaml stream, and closes the Writer. The Writer is closed even if the stream can't be ended, because a
+     * map or list is still open.
+     */
+    @Override
+    public void close() {
+        try {
+            this.finish();
+        } finally {
+            try {
+                this.writer_.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Ends the Yaml stream and flushes the Writer, without closing it.
+     */
+    void finish() {
+        if (this.finished_) { return; }
+        this.endDocument();
+        this.emit_(new StreamEndEvent(null, null));
+        this.finished_ = true;
+        this.flush();
+    }
+
+    //PRIVATE METHODS
+    private YamlWriter scalar_(Tag tag, String value) {
+        return this.scalar_(tag, value, DumperOptions.ScalarStyle.PLAIN);
+    }
+
+    private YamlWriter scalar_(Tag tag, String value, DumperOptions.ScalarStyle style) {
+        this.open_();
+        boolean plain = tag.equals(YamlWriter.RESOLVER.resolve(NodeId.scalar, value, true));
+        boolean quoted = tag.equals(YamlWriter.RESOLVER.resolve(NodeId.scalar, value, false));
+        this.emit_(new ScalarEvent(
+                null, (plain || quoted) ? null : tag.getValue(), new ImplicitTuple(plain, quoted), value,
+                null, null, style
+        ));
+        return this;
+    }
+
+    private void node_(Node node, Set<Node> path) {
+        if (node instanceof AnchorNode anchor) { node = anchor.getRealNode(); }
+        if (node instanceof ScalarNode scalar) {
+            this.scalar_(scalar.getTag(), scalar.getValue(), scalar.getScalarStyle());
+            return;
+        }
+        if (!path.add(node)) { throw new IllegalArgumentException("The node contains itself through an alias."); }
+        this.open_();
+        if (node instanceof SequenceNode sequence) {
+            boolean implicit = sequence.getTag().equals(Tag.SEQ);
+            this.emit_(new SequenceStartEvent(null, implicit ? null : sequence.getTag().getValue(), implicit, null, null, sequence.getFlowStyle()));
+            this.depth_++;
+            for (Node child : sequence.getValue()) {
+                this.node_(child, path);
+            }
+            this.endList();
+        } else if (node instanceof MappingNode mapping) {
+            boolean implicit = mapping.getTag().equals(Tag.MAP);
+            this.emit_(new MappingStartEvent(null, implicit ? null : mapping.getTag().getValue(), implicit, null, null, mapping.getFlowStyle()));
+            this.depth_++;
+            for (NodeTuple tuple : mapping.getValue()) {
+                this.node_(tuple.getKeyNode(), path);
+                this.node_(tuple.getValueNode(), path);
+            }
+            this.endMap();
+        }
+        path.remove(node);
+    }
+
+    private void open_() {
+        if (this.finished_) { throw new IllegalStateException("This YamlWriter is closed."); }
+        if (this.depth_ > 0) { return; }
+        this.endDocument();
+        this.emit_(new DocumentStartEvent(null, null, false, null, null));
+        this.documentOpen_ = true;
+    }
+
+    private void close_() {
+        if (this.depth_ == 0) { throw new IllegalStateException("There's no map or list to end."); }
+        this.depth_--;
+    }
+
+    private void emit_(Event event) {
+        try {
+            this.emitter_.emit(event);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
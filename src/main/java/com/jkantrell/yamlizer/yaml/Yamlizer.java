@@ -1,42 +1,279 @@
 package com.jkantrell.yamlizer.yaml;
 
+import com.jkantrell.yamlizer.collection.DoubleList;
+import com.jkantrell.yamlizer.collection.IntList;
+import com.jkantrell.yamlizer.collection.LongList;
 import com.jkantrell.yamlizer.reflect.TypeHandler;
+import org.yaml.snakeyaml.DumperOptions;
+import java.io.*;
 import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+/**
+ * Deserializes YamlElements into Java objects, through registered deserializers and the built-in rules for arrays,
+ * collections, enums and records. It also serializes Java objects back into Yaml, symmetrically, through registered
+ * serializers and the same built-in rules, by streaming them into a YamlWriter.
+ *
+ * A Yamlizer is thread-safe: any number of threads may call deserialize or serialize on the same instance concurrently,
+ * and rules may be added while they do so, as long as the registered deserializers and serializers are thread-safe
+ * themselves and the YamlElements and objects being read are not modified meanwhile.
+ */
 public class Yamlizer {
 
-    private final Set<Serialization<?>> serializations_ = new HashSet<>();
+    private final RuleRegistry<YamlDeserializer<?>> deserializers_ = new RuleRegistry<>();
+    private final RuleRegistry<YamlSerializer<?>> serializers_ = new RuleRegistry<>();
+    private volatile Parallelism parallelism_ = null;
 
+    /**
+     * Registers the deserializer to use for a given class, replacing any deserializer previously registered for it.
+     * Classes with no deserializer of their own use the one registered for their most specific supertype.
+     *
+     * @param type The class to deserialize.
+     * @param deserializer The deserializer.
+     */
     public <T> void addSerializationRule(Class<T> type, YamlDeserializer<T> deserializer) {
-        this.serializations_.add(new Serialization<>(type,deserializer));
+        this.deserializers_.add(type,deserializer);
+    }
+
+    /**
+     * Registers the serializer to use for a given class, replacing any serializer previously registered for it.
+     * Classes with no serializer of their own use the one registered for their most specific supertype.
+     *
+     * @param type The class to serialize.
+     * @param serializer The serializer.
+     */
+    public <T> void addSerializer(Class<T> type, YamlSerializer<T> serializer) {
+        this.serializers_.add(type, serializer);
     }
 
     public Yamlizer() {
         this.addDeserializers_();
+        this.addSerializers_();
+    }
+
+    /**
+     * Makes lists and arrays with at least a given amount of elements be deserialized in parallel, in the common
+     * ForkJoinPool. The order of the elements is kept.
+     *
+     * @param threshold The minimum amount of elements for a list or array to be deserialized in parallel.
+     */
+    public void enableParallelism(int threshold) {
+        this.enableParallelism(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Makes lists and arrays with at least a given amount of elements be deserialized in parallel, in the provided
+     * ForkJoinPool. The order of the elements is kept.
+     *
+     * @param threshold The minimum amount of elements for a list or array to be deserialized in parallel.
+     * @param pool The pool to deserialize the elements in.
+     */
+    public void enableParallelism(int threshold, ForkJoinPool pool) {
+        if (threshold < 1) { throw new IllegalArgumentException("The threshold must be positive."); }
+        this.parallelism_ = new Parallelism(threshold, Objects.requireNonNull(pool));
+    }
+
+    /**
+     * Makes every list and array be deserialized sequentially again.
+     */
+    public void disableParallelism() {
+        this.parallelism_ = null;
     }
 
     public Object deserialize(YamlElement src, TypeHandler type) {
-        Serialization<?> serialization = this.getSerialization_(type);
-        if (serialization != null) {
+        return this.deserialize(src, type, null, -1);
+    }
+    public Object deserialize(YamlElement src, Type type) {
+        return this.deserialize(src, TypeHandler.of(type));
+    }
+    public <T> T deserialize(YamlElement src, Class<T> type) {
+        return (T) this.deserialize(src, (Type) type);
+    }
+
+    /**
+     * Deserializes a YamlElement without throwing nor logging on failure. Every problem found, such as type mismatches,
+     * missing keys or failing deserializers, is reported into the provided YamlDiagnostics instead, and the parts that
+     * could not be deserialized are left as null, or as the default value of primitive array elements.
+     *
+     * @param src The YamlElement containing the source data.
+     * @param type The type of the object to deserialize.
+     * @param diagnostics The YamlDiagnostics to report problems into.
+     * @return The object. Null if it could not be deserialized.
+     */
+    public Object deserialize(YamlElement src, Type type, YamlDiagnostics diagnostics) {
+        return this.deserialize(src, TypeHandler.of(type), diagnostics.scope(""), -1);
+    }
+    public <T> T deserialize(YamlElement src, Class<T> type, YamlDiagnostics diagnostics) {
+        return (T) this.deserialize(src, (Type) type, diagnostics);
+    }
+
+    /**
+     * Lazily deserializes every document in a multi-document Yaml stream into an object of a given type. Documents
+     * are parsed and deserialized one at a time as the returned Stream is consumed. Empty documents are skipped.
+     *
+     * @param inputStream the InputStream to load. It's not closed by this method nor by the Stream.
+     * @param type The type to deserialize each document as.
+     * @return a sequential Stream of the deserialized documents.
+     */
+    public Stream<Object> deserializeAll(InputStream inputStream, Type type) {
+        TypeHandler handler = TypeHandler.of(type);
+        return YamlMap.loadAll(inputStream).map(map -> this.deserialize(new YamlElement(map), handler));
+    }
+    public <T> Stream<T> deserializeAll(InputStream inputStream, Class<T> type) {
+        return (Stream<T>) this.deserializeAll(inputStream, (Type) type);
+    }
+
+    /**
+     * Creates a YamlWriter that streams the Yaml written into it into a Writer, serializing objects through the rules
+     * of this Yamlizer. The Writer is buffered, unless it already is.
+     *
+     * @param writer The Writer to write into. It's closed when the YamlWriter is.
+     * @return The YamlWriter.
+     */
+    public YamlWriter newWriter(Writer writer) {
+        boolean buffered = writer instanceof BufferedWriter || writer instanceof StringWriter;
+        return new YamlWriter((buffered) ? writer : new BufferedWriter(writer), this, Yamlizer.dumperOptions_());
+    }
+
+    /**
+     * Creates a YamlWriter that streams the Yaml written into it into an OutputStream, encoded as UTF-8, serializing
+     * objects through the rules of this Yamlizer. The OutputStream is buffered.
+     *
+     * @param outputStream The OutputStream to write into. It's closed when the YamlWriter is.
+     * @return The YamlWriter.
+     */
+    public YamlWriter newWriter(OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        return new YamlWriter(writer, this, Yamlizer.dumperOptions_());
+    }
+
+    /**
+     * Serializes an object as a single Yaml document, streaming it into a Writer. Nothing but the object itself is
+     * held in memory while it's written.
+     *
+     * @param src The object to serialize.
+     * @param writer The Writer to write into. It's flushed, but not closed.
+     * @throws IllegalArgumentException if no serializer applies to the object, or any object it holds.
+     * @throws UncheckedIOException if writing fails.
+     */
+    public void serialize(Object src, Writer writer) {
+        YamlWriter yamlWriter = this.newWriter(writer);
+        yamlWriter.value(src);
+        yamlWriter.finish();
+    }
+
+    /**
+     * Serializes an object as a single Yaml document, streaming it into an OutputStream, encoded as UTF-8.
+     *
+     * @param src The object to serialize.
+     * @param outputStream The OutputStream to write into. It's flushed, but not closed.
+     * @throws IllegalArgumentException if no serializer applies to the object, or any object it holds.
+     * @throws UncheckedIOException if writing fails.
+     */
+    public void serialize(Object src, OutputStream outputStream) {
+        YamlWriter yamlWriter = this.newWriter(outputStream);
+        yamlWriter.value(src);
+        yamlWriter.finish();
+    }
+
+    /**
+     * Serializes an object into a YamlWriter, as a single value. The serializer registered for the object's class, or
+     * for its most specific supertype, is used. Otherwise, arrays are written as lists, and records as maps holding
+     * each component at the same path it's read from.
+     *
+     * @param src The object to serialize. Null is written as a null scalar.
+     * @param writer The YamlWriter to write into.
+     * @throws IllegalArgumentException if no serializer applies to the object, or any object it holds.
+     */
+    public void serialize(Object src, YamlWriter writer) {
+        if (src == null) {
+            writer.nullValue();
+            return;
+        }
+        Class<?> type = src.getClass();
+        YamlSerializer<Object> serializer = (YamlSerializer<Object>) this.serializers_.resolve(type);
+        if (serializer != null) {
+            serializer.serialize(src, type, writer);
+            return;
+        }
+
+        if (type.isArray()) {
+            writer.startList();
+            for (int i = 0, length = Array.getLength(src); i < length; i++) {
+                this.serialize(Array.get(src, i), writer);
+            }
+            writer.endList();
+            return;
+        }
+
+        ConstructorPlan plan = ConstructorPlan.of(type);
+        if (plan != null && plan.isWritable()) {
+            plan.write(src, writer);
+            return;
+        }
+
+        throw new IllegalArgumentException(
+                "Unable to infer serialization for " + type.getTypeName() +
+                " and no serializer was found for it. Please define a custom serializer."
+        );
+    }
+
+    /**
+     * Deserializes a YamlElement, reporting problems into a scope instead of throwing when one is provided.
+     *
+     * @param src The YamlElement containing the source data.
+     * @param type The TypeHandler of the object to deserialize.
+     * @param scope The scope to report problems into. Null to throw instead.
+     * @param index The index of the source element in its list, -1 if it's not a list element.
+     * @return The object.
+     */
+    Object deserialize(YamlElement src, TypeHandler type, YamlDiagnostics.Scope scope, int index) {
+        if (src == null && scope != null) {
+            scope.report(YamlDiagnostics.Kind.MISSING_PATH, index, "There's no value to deserialize.", null);
+            return null;
+        }
+
+        YamlDeserializer<?> deserializer = this.deserializers_.resolve(type.getClazz());
+        if (deserializer != null) {
             try {
-                return serialization.deserializer().deserialize(src, type.getType());
+                if (deserializer instanceof Scalar<?> scalar) {
+                    return scalar.read(src, scope, index);
+                }
+                if (deserializer instanceof HandlerDeserializer<?> handlerDeserializer) {
+                    return handlerDeserializer.deserialize(src, type, scope, index);
+                }
+                return deserializer.deserialize(src, type.getType());
             } catch (Exception e) {
-                e.printStackTrace();
+                if (scope == null) {
+                    e.printStackTrace();
+                } else {
+                    scope.report(YamlDiagnostics.Kind.DESERIALIZATION_FAILURE, index, String.valueOf(e.getMessage()), e);
+                }
                 return null;
             }
         }
 
         if (type.isArray()) {
             List<YamlElement> yamlElements = src.get(YamlElementType.LIST);
-            Type arrayComponent = type.getArrayComponent();
-            Object array = Array.newInstance((Class<?>) arrayComponent,yamlElements.size());
+            if (yamlElements == null) { return Yamlizer.mismatch_(src, YamlElementType.LIST, scope, index); }
+            TypeHandler component = type.getComponentHandler();
+            Object array = Array.newInstance(component.getClazz(),yamlElements.size());
 
-            for (int i = 0; i < yamlElements.size(); i++) {
-                Array.set(array,i,this.deserialize(yamlElements.get(i),arrayComponent));
+            if (array instanceof Object[] objects) {
+                this.deserializeAll_(yamlElements, component, objects, scope);
+            } else {
+                for (int i = 0; i < yamlElements.size(); i++) {
+                    Object element = this.deserialize(yamlElements.get(i),component,scope,i);
+                    if (element != null) { Array.set(array,i,element); }
+                }
             }
 
             return array;
@@ -45,114 +282,242 @@ public class Yamlizer {
         if (type.getType() instanceof Class clazz) {
             if (clazz.isEnum()) {
                 String val = src.get(YamlElementType.STRING);
+                if (val == null) { return Yamlizer.mismatch_(src, YamlElementType.STRING, scope, index); }
                 try {
                     return Enum.valueOf(clazz, val);
                 } catch (IllegalArgumentException ex) {
-                    throw new IllegalArgumentException("'" + val + "' is not a valid value for " + clazz.getSimpleName());
+                    String message = "'" + val + "' is not a valid value for " + clazz.getSimpleName();
+                    if (scope == null) { throw new IllegalArgumentException(message); }
+                    scope.report(YamlDiagnostics.Kind.TYPE_MISMATCH, index, message, null);
+                    return null;
                 }
             }
         }
 
-        throw new ClassCastException(
-            " Unable to infer deserialization for " + type.getType().getTypeName() +
-            " and no deserializer was found for it. Please define a custom deserializer."
-        );
-    };
-    public Object deserialize(YamlElement src, Type type) {
-        return this.deserialize(src, new TypeHandler(type));
-    }
-    public <T> T deserialize(YamlElement src, Class<T> type) {
-        return (T) this.deserialize(src, (Type) type);
-    }
-
-    //PRIVATE METHODS
-    private Serialization<?> getSerialization_(TypeHandler type) {
-        Class clazz = type.getClazz();
-
-        boolean repeat = false;
-        Predicate<Serialization<?>> check = s -> clazz.equals(s.type());
-        do {
-            for (Serialization<?> serialization : this.serializations_) {
-                if (check.test(serialization)) {
-                    return serialization;
-                }
-            }
-            check = s -> s.type().isAssignableFrom(clazz);
-            repeat = !repeat;
-        } while (repeat);
+        ConstructorPlan plan = ConstructorPlan.of(type.getClazz());
+        if (plan != null) {
+            YamlMap map = src.get(YamlElementType.MAP);
+            if (map == null) { return Yamlizer.mismatch_(src, YamlElementType.MAP, scope, index); }
+            return plan.create(map, this, scope);
+        }
 
+        String message = " Unable to infer deserialization for " + type.getType().getTypeName() +
+                " and no deserializer was found for it. Please define a custom deserializer.";
+        if (scope == null) { throw new ClassCastException(message); }
+        scope.report(YamlDiagnostics.Kind.NO_DESERIALIZER, index, message, null);
         return null;
     }
 
+    /**
+     * Checks whether a class is still deserialized by one of the built-in scalar rules, rather than by a custom one.
+     *
+     * @param type The class.
+     * @return true if the class is deserialized by a built-in scalar rule, false otherwise.
+     */
+    boolean isBuiltInScalar(Class<?> type) {
+        return this.deserializers_.resolve(type) instanceof Scalar<?>;
+    }
+
     //PRIVATE METHODS
     private void addDeserializers_() {
-        HashMap<Class, YamlDeserializer> map = new HashMap<>();
+        HashMap<Class, YamlDeserializer> map = new LinkedHashMap<>();
         map.put(
                 String.class,
-                (e, t) -> e.get(YamlElementType.STRING)
+                new Scalar<>(YamlElementType.STRING, v -> v)
         );
         map.put(
                 Double.class,
-                (e, t) -> e.get(YamlElementType.DOUBLE)
+                new Scalar<>(YamlElementType.DOUBLE, v -> v)
         );
         map.put(
                 Integer.class,
-                (e, t) -> e.get(YamlElementType.INT)
+                new Scalar<>(YamlElementType.INT, v -> v)
         );
         map.put(
                 Boolean.class,
-                (e, t) -> e.get(YamlElementType.BOOL)
+                new Scalar<>(YamlElementType.BOOL, v -> v)
+        );
+        map.put(
+                Long.class,
+                new Scalar<>(YamlElementType.LONG, v -> v)
+        );
+        map.put(
+                BigInteger.class,
+                new Scalar<>(YamlElementType.BIG_INTEGER, v -> v)
         );
         map.put(
                 byte.class,
-                (e, t) -> e.get(YamlElementType.INT).byteValue()
+                new Scalar<>(YamlElementType.INT, Integer::byteValue)
         );
         map.put(
                 short.class,
-                (e, t) -> e.get(YamlElementType.INT).shortValue()
+                new Scalar<>(YamlElementType.INT, Integer::shortValue)
         );
         map.put(
                 int.class,
-                (e, t) -> e.get(YamlElementType.INT).intValue()
+                new Scalar<>(YamlElementType.INT, v -> v)
         );
         map.put(
                 long.class,
-                (e, t) -> e.get(YamlElementType.INT).longValue()
+                new Scalar<>(YamlElementType.LONG, v -> v)
         );
         map.put(
                 float.class,
-                (e, t) -> e.get(YamlElementType.DOUBLE).floatValue()
+                new Scalar<>(YamlElementType.DOUBLE, Double::floatValue)
         );
         map.put(
                 double.class,
-                (e, t) -> e.get(YamlElementType.DOUBLE).doubleValue()
+                new Scalar<>(YamlElementType.DOUBLE, v -> v)
         );
         map.put(
                 char.class,
-                (e, t) -> e.get(YamlElementType.STRING).charAt(0)
+                new Scalar<>(YamlElementType.STRING, v -> v.charAt(0))
         );
         map.put(
                 boolean.class,
-                (e, t) -> e.get(YamlElementType.BOOL).booleanValue()
+                new Scalar<>(YamlElementType.BOOL, v -> v)
+        );
+        map.put(
+                int[].class,
+                (HandlerDeserializer) (e, t, scope, index) -> {
+                    List<YamlElement> yamlElements = e.get(YamlElementType.LIST);
+                    if (yamlElements == null) { return Yamlizer.mismatch_(e, YamlElementType.LIST, scope, index); }
+                    int[] array = new int[yamlElements.size()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = Yamlizer.intAt_(yamlElements, i, scope);
+                    }
+                    return array;
+                }
+        );
+        map.put(
+                long[].class,
+                (HandlerDeserializer) (e, t, scope, index) -> {
+                    List<YamlElement> yamlElements = e.get(YamlElementType.LIST);
+                    if (yamlElements == null) { return Yamlizer.mismatch_(e, YamlElementType.LIST, scope, index); }
+                    long[] array = new long[yamlElements.size()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = Yamlizer.longAt_(yamlElements, i, scope);
+                    }
+                    return array;
+                }
+        );
+        map.put(
+                double[].class,
+                (HandlerDeserializer) (e, t, scope, index) -> {
+                    List<YamlElement> yamlElements = e.get(YamlElementType.LIST);
+                    if (yamlElements == null) { return Yamlizer.mismatch_(e, YamlElementType.LIST, scope, index); }
+                    double[] array = new double[yamlElements.size()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = Yamlizer.doubleAt_(yamlElements, i, scope);
+                    }
+                    return array;
+                }
         );
         map.put(
-                List.class,
-                (e, t) -> {
-                    TypeHandler typeHandler = new TypeHandler(t);
+                boolean[].class,
+                (HandlerDeserializer) (e, t, scope, index) -> {
                     List<YamlElement> yamlElements = e.get(YamlElementType.LIST);
-                    List list = new ArrayList();
-                    for (YamlElement element : yamlElements) {
-                        list.add(this.deserialize(element, typeHandler.getParameterHandlers()[0]));
+                    if (yamlElements == null) { return Yamlizer.mismatch_(e, YamlElementType.LIST, scope, index); }
+                    boolean[] array = new boolean[yamlElements.size()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = Yamlizer.booleanAt_(yamlElements, i, scope);
                     }
-                    try {
-                        Constructor<?> constructor = typeHandler.getClazz().getConstructor(Collection.class);
-                        return constructor.newInstance(list);
-                    } catch (NoSuchMethodException ex) {;
-                        return list;
-                    } catch (Exception ex) {
-                        ex.printStackTrace();
-                        return null;
+                    return array;
+                }
+        );
+        map.put(
+                byte[].class,
+                (HandlerDeserializer) (e, t, scope, index) -> {
+                    List<YamlElement> yamlElements = e.get(YamlElementType.LIST);
+                    if (yamlElements == null) { return Yamlizer.mismatch_(e, YamlElementType.LIST, scope, index); }
+                    byte[] array = new byte[yamlElements.size()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = Yamlizer.byteAt_(yamlElements, i, scope);
+                    }
+                    return array;
+                }
+        );
+        map.put(
+                IntList.class,
+                (HandlerDeserializer) (e, t, scope, index) -> {
+                    List<YamlElement> yamlElements = e.get(YamlElementType.LIST);
+                    if (yamlElements == null) { return Yamlizer.mismatch_(e, YamlElementType.LIST, scope, index); }
+                    IntList list = new IntList(yamlElements.size());
+                    for (int i = 0; i < yamlElements.size(); i++) {
+                        list.add(Yamlizer.intAt_(yamlElements, i, scope));
+                    }
+                    return list;
+                }
+        );
+        map.put(
+                LongList.class,
+                (HandlerDeserializer) (e, t, scope, index) -> {
+                    List<YamlElement> yamlElements = e.get(YamlElementType.LIST);
+                    if (yamlElements == null) { return Yamlizer.mismatch_(e, YamlElementType.LIST, scope, index); }
+                    LongList list = new LongList(yamlElements.size());
+                    for (int i = 0; i < yamlElements.size(); i++) {
+                        list.add(Yamlizer.longAt_(yamlElements, i, scope));
+                    }
+                    return list;
+                }
+        );
+        map.put(
+                DoubleList.class,
+                (HandlerDeserializer) (e, t, scope, index) -> {
+                    List<YamlElement> yamlElements = e.get(YamlElementType.LIST);
+                    if (yamlElements == null) { return Yamlizer.mismatch_(e, YamlElementType.LIST, scope, index); }
+                    DoubleList list = new DoubleList(yamlElements.size());
+                    for (int i = 0; i < yamlElements.size(); i++) {
+                        list.add(Yamlizer.doubleAt_(yamlElements, i, scope));
+                    }
+                    return list;
+                }
+        );
+        map.put(
+                YamlElement.class,
+                (e, t) -> e
+        );
+        map.put(
+                YamlMap.class,
+                (e, t) -> e.get(YamlElementType.MAP)
+        );
+        map.put(
+                Collection.class,
+                (HandlerDeserializer) (e, typeHandler, scope, index) -> {
+                    List<YamlElement> yamlElements = e.get(YamlElementType.LIST);
+                    if (yamlElements == null) { return Yamlizer.mismatch_(e, YamlElementType.LIST, scope, index); }
+                    TypeHandler elementHandler = CollectionFactory.parameter(typeHandler, 0);
+                    Collection<Object> collection = CollectionFactory.newCollection(typeHandler, yamlElements.size());
+                    if (this.isParallel_(yamlElements.size())) {
+                        Object[] elements = new Object[yamlElements.size()];
+                        this.deserializeAll_(yamlElements, elementHandler, elements, scope);
+                        Collections.addAll(collection, elements);
+                    } else {
+                        for (int i = 0; i < yamlElements.size(); i++) {
+                            collection.add(this.deserialize(yamlElements.get(i), elementHandler, scope, i));
+                        }
+                    }
+                    return (collection instanceof CollectionFactory.CopyingList copying) ? copying.build() : collection;
+                }
+        );
+        map.put(
+                Map.class,
+                (HandlerDeserializer) (e, typeHandler, scope, index) -> {
+                    YamlMap yamlMap = e.get(YamlElementType.MAP);
+                    if (yamlMap == null) { return Yamlizer.mismatch_(e, YamlElementType.MAP, scope, index); }
+                    TypeHandler keyHandler = CollectionFactory.parameter(typeHandler, 0);
+                    TypeHandler valueHandler = CollectionFactory.parameter(typeHandler, 1);
+                    boolean stringKeys = keyHandler.getClazz().isAssignableFrom(String.class);
+                    //Enum constants are read by name, so their keys mustn't be resolved as scalars, where 'ON' would be a boolean.
+                    boolean nameKeys = stringKeys || keyHandler.getClazz().isEnum();
+                    Map<Object, Object> result = CollectionFactory.newMap(typeHandler, yamlMap.size());
+                    for (Map.Entry<String, YamlElement> entry : yamlMap.entrySet()) {
+                        YamlDiagnostics.Scope entryScope = (scope == null) ? null : scope.child(entry.getKey());
+                        Object key = (stringKeys) ? entry.getKey() : this.key_(entry.getKey(), keyHandler, nameKeys, entryScope);
+                        if (key == null) { continue; }
+                        result.put(key, this.deserialize(entry.getValue(), valueHandler, entryScope, -1));
                     }
+                    return result;
                 }
         );
         for (Map.Entry<Class, YamlDeserializer> entry : map.entrySet()) {
@@ -160,6 +525,299 @@ public class Yamlizer {
         }
     }
 
+    private void addSerializers_() {
+        HashMap<Class, YamlSerializer> map = new LinkedHashMap<>();
+        map.put(
+                CharSequence.class,
+                (v, t, w) -> w.value(v.toString())
+        );
+        map.put(
+                Character.class,
+                (v, t, w) -> w.value(String.valueOf(v))
+        );
+        map.put(
+                Integer.class,
+                (v, t, w) -> w.value(((Number) v).longValue())
+        );
+        map.put(
+                Short.class,
+                (v, t, w) -> w.value(((Number) v).longValue())
+        );
+        map.put(
+                Byte.class,
+                (v, t, w) -> w.value(((Number) v).longValue())
+        );
+        map.put(
+                Long.class,
+                (v, t, w) -> w.value((long) (Long) v)
+        );
+        map.put(
+                BigInteger.class,
+                (v, t, w) -> w.value((BigInteger) v)
+        );
+        map.put(
+                Double.class,
+                (v, t, w) -> w.value((double) (Double) v)
+        );
+        map.put(
+                //Going through the Float's own String keeps its shortest representation, 0.1f is written as 0.1.
+                Float.class,
+                (v, t, w) -> w.value(Double.parseDouble(v.toString()))
+        );
+        map.put(
+                Boolean.class,
+                (v, t, w) -> w.value((boolean) (Boolean) v)
+        );
+        map.put(
+                Enum.class,
+                (v, t, w) -> w.value(((Enum<?>) v).name())
+        );
+        map.put(
+                int[].class,
+                (v, t, w) -> {
+                    w.startList();
+                    for (int value : (int[]) v) { w.value(value); }
+                    w.endList();
+                }
+        );
+        map.put(
+                long[].class,
+                (v, t, w) -> {
+                    w.startList();
+                    for (long value : (long[]) v) { w.value(value); }
+                    w.endList();
+                }
+        );
+        map.put(
+                double[].class,
+                (v, t, w) -> {
+                    w.startList();
+                    for (double value : (double[]) v) { w.value(value); }
+                    w.endList();
+                }
+        );
+        map.put(
+                boolean[].class,
+                (v, t, w) -> {
+                    w.startList();
+                    for (boolean value : (boolean[]) v) { w.value(value); }
+                    w.endList();
+                }
+        );
+        map.put(
+                byte[].class,
+                (v, t, w) -> {
+                    w.startList();
+                    for (byte value : (byte[]) v) { w.value(value); }
+                    w.endList();
+                }
+        );
+        map.put(
+                IntList.class,
+                (v, t, w) -> {
+                    IntList list = (IntList) v;
+                    w.startList();
+                    for (int i = 0; i < list.size(); i++) { w.value(list.get(i)); }
+                    w.endList();
+                }
+        );
+        map.put(
+                LongList.class,
+                (v, t, w) -> {
+                    LongList list = (LongList) v;
+                    w.startList();
+                    for (int i = 0; i < list.size(); i++) { w.value(list.get(i)); }
+                    w.endList();
+                }
+        );
+        map.put(
+                DoubleList.class,
+                (v, t, w) -> {
+                    DoubleList list = (DoubleList) v;
+                    w.startList();
+                    for (int i = 0; i < list.size(); i++) { w.value(list.get(i)); }
+                    w.endList();
+                }
+        );
+        map.put(
+                YamlElement.class,
+                (v, t, w) -> {
+                    YamlElement e = (YamlElement) v;
+                    switch (e.getKind()) {
+                        case INT, LONG -> w.value(e.getLong());
+                        case DOUBLE -> w.value(e.getDouble());
+                        case BOOL -> w.value(e.getBoolean());
+                        default -> this.serialize(e.get(), w);
+                    }
+                }
+        );
+        map.put(
+                Collection.class,
+                (v, t, w) -> {
+                    w.startList();
+                    for (Object element : (Collection<?>) v) { this.serialize(element, w); }
+                    w.endList();
+                }
+        );
+        map.put(
+                Map.class,
+                (v, t, w) -> {
+                    w.startMap();
+                    for (Map.Entry<?, ?> entry : ((Map<?, ?>) v).entrySet()) {
+                        Object key = entry.getKey();
+                        w.key((key instanceof Enum<?> constant) ? constant.name() : String.valueOf(key));
+                        this.serialize(entry.getValue(), w);
+                    }
+                    w.endMap();
+                }
+        );
+        for (Map.Entry<Class, YamlSerializer> entry : map.entrySet()) {
+            this.addSerializer(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static DumperOptions dumperOptions_() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        return options;
+    }
+
+    private boolean isParallel_(int size) {
+        Parallelism parallelism = this.parallelism_;
+        return parallelism != null && size >= parallelism.threshold();
+    }
+
+    private void deserializeAll_(List<YamlElement> src, TypeHandler type, Object[] dest, YamlDiagnostics.Scope scope) {
+        Parallelism parallelism = this.parallelism_;
+        if (parallelism == null || dest.length < parallelism.threshold()) {
+            for (int i = 0; i < dest.length; i++) {
+                dest[i] = this.deserialize(src.get(i), type, scope, i);
+            }
+            return;
+        }
+
+        int leafSize = Math.max(16, dest.length / (parallelism.pool().getParallelism() * 4));
+        DeserializationTask task = new DeserializationTask(src, type, dest, scope, 0, dest.length, leafSize);
+        if (ForkJoinTask.getPool() == parallelism.pool()) {
+            task.invoke();
+        } else {
+            parallelism.pool().invoke(task);
+        }
+    }
+
+    private Object key_(String key, TypeHandler keyHandler, boolean byName, YamlDiagnostics.Scope scope) {
+        YamlElement element = (byName) ? new YamlElement(key) : YamlNodeReader.key(key);
+        RuntimeException cause = null;
+        try {
+            Object value = this.deserialize(element, keyHandler, null, -1);
+            if (value != null) { return value; }
+        } catch (RuntimeException ex) {
+            cause = ex;
+        }
+        //Maps can't hold null keys reliably, so entries whose key can't be read are skipped rather than stored under null.
+        String message = "Unable to read key '" + key + "' as " + keyHandler.getClazz().getSimpleName() + ".";
+        if (scope == null) { throw (ClassCastException) new ClassCastException(message).initCause(cause); }
+        scope.report(YamlDiagnostics.Kind.TYPE_MISMATCH, -1, message, cause);
+        return null;
+    }
+
+    private static <T> T mismatch_(YamlElement src, YamlElementType<?> expected, YamlDiagnostics.Scope scope, int index) {
+        String message = "Expected " + expected.getType().getSimpleName() + ", found " + src.type.getType().getSimpleName() + ".";
+        if (scope == null) { throw new ClassCastException(message); }
+        scope.report(YamlDiagnostics.Kind.TYPE_MISMATCH, index, message, null);
+        return null;
+    }
+
+    private static YamlElement element_(List<YamlElement> list, int index, YamlElementType<?> type, YamlDiagnostics.Scope scope) {
+        YamlElement element = list.get(index);
+        if (element.type.canBeReadAs(type)) { return element; }
+        String message = "Element of index " + index + " is " + element.type.getType().getSimpleName() +
+                ", expected all to be of type " + type.getType().getSimpleName() + ".";
+        if (scope == null) { throw new ClassCastException(message); }
+        scope.report(YamlDiagnostics.Kind.TYPE_MISMATCH, index, message, null);
+        return null;
+    }
+
+    private static int intAt_(List<YamlElement> list, int index, YamlDiagnostics.Scope scope) {
+        YamlElement element = Yamlizer.element_(list, index, YamlElementType.INT, scope);
+        return (element == null) ? 0 : element.getInt();
+    }
+
+    private static long longAt_(List<YamlElement> list, int index, YamlDiagnostics.Scope scope) {
+        YamlElement element = Yamlizer.element_(list, index, YamlElementType.LONG, scope);
+        return (element == null) ? 0 : element.getLong();
+    }
+
+    private static double doubleAt_(List<YamlElement> list, int index, YamlDiagnostics.Scope scope) {
+        YamlElement element = Yamlizer.element_(list, index, YamlElementType.DOUBLE, scope);
+        return (element == null) ? 0 : element.getDouble();
+    }
+
+    private static boolean booleanAt_(List<YamlElement> list, int index, YamlDiagnostics.Scope scope) {
+        YamlElement element = Yamlizer.element_(list, index, YamlElementType.BOOL, scope);
+        return element != null && element.getBoolean();
+    }
+
+    private static byte byteAt_(List<YamlElement> list, int index, YamlDiagnostics.Scope scope) {
+        return (byte) Yamlizer.intAt_(list, index, scope);
+    }
+
     //CLASSES
-    private record Serialization<T> (Class<T> type, YamlDeserializer<T> deserializer) {}
+    private record Parallelism(int threshold, ForkJoinPool pool) {}
+
+    /**
+     * A deserializer for Yaml scalars, which converts the value of a given YamlElementType.
+     */
+    private record Scalar<S> (YamlElementType<S> type, Function<S, Object> converter) implements YamlDeserializer<Object> {
+        @Override
+        public Object deserialize(YamlElement src, Type objectType) {
+            return this.read(src, null, -1);
+        }
+
+        private Object read(YamlElement src, YamlDiagnostics.Scope scope, int index) {
+            S value = src.get(this.type);
+            if (value == null) {
+                return (scope == null) ? null : Yamlizer.mismatch_(src, this.type, scope, index);
+            }
+            return this.converter.apply(value);
+        }
+    }
+
+    private class DeserializationTask extends RecursiveAction {
+
+        private final List<YamlElement> src_;
+        private final TypeHandler type_;
+        private final Object[] dest_;
+        private final YamlDiagnostics.Scope scope_;
+        private final int from_;
+        private final int to_;
+        private final int leafSize_;
+
+        private DeserializationTask(
+                List<YamlElement> src, TypeHandler type, Object[] dest, YamlDiagnostics.Scope scope, int from, int to, int leafSize
+        ) {
+            this.src_ = src;
+            this.type_ = type;
+            this.dest_ = dest;
+            this.scope_ = scope;
+            this.from_ = from;
+            this.to_ = to;
+            this.leafSize_ = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to_ - this.from_ <= this.leafSize_) {
+                for (int i = this.from_; i < this.to_; i++) {
+                    this.dest_[i] = Yamlizer.this.deserialize(this.src_.get(i), this.type_, this.scope_, i);
+                }
+                return;
+            }
+            int middle = (this.from_ + this.to_) >>> 1;
+            ForkJoinTask.invokeAll(
+                    new DeserializationTask(this.src_, this.type_, this.dest_, this.scope_, this.from_, middle, this.leafSize_),
+                    new DeserializationTask(this.src_, this.type_, this.dest_, this.scope_, middle, this.to_, this.leafSize_)
+            );
+        }
+    }
 }